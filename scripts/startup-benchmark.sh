@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# 기동 시간 벤치마크: 컨테이너 실행부터 첫 요청 성공(HTTP 200)까지 걸린 시간 (ms)
+#
+#   ./gradlew bootJar
+#   docker build -t item-service:latest .
+#   docker build -f Dockerfile.fast-startup -t item-service:fast .
+#   scripts/startup-benchmark.sh 10
+#
+# 외부 H2 없이 돌도록 임베디드 H2 + schema.sql 로 실행한다.
+# 결과는 이미지별 min / median / p90 / max 와 build/startup-benchmark.csv (run 별 원본)
+set -euo pipefail
+
+RUNS=${1:-10}
+IMAGES=${IMAGES:-"item-service:latest item-service:fast"}
+PORT=${PORT:-18080}
+PROBE_PATH=${PROBE_PATH:-/basic/items}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+DB_URL="jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'"
+CSV=build/startup-benchmark.csv
+
+mkdir -p build
+echo "image,run,millis" > "$CSV"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+measure() {
+    local image=$1
+    local start cid deadline
+    start=$(now_ms)
+    cid=$(docker run -d -p "$PORT:8080" "$image" --custom.datasource.primary.url="$DB_URL")
+    deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$PROBE_PATH" || true)" = "200" ]; do
+        if [ "$(now_ms)" -gt "$deadline" ]; then
+            docker logs "$cid" | tail -20 >&2
+            docker rm -f "$cid" > /dev/null
+            echo "timeout" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    echo $(( $(now_ms) - start ))
+    docker rm -f "$cid" > /dev/null
+}
+
+for image in $IMAGES; do
+    # 첫 실행은 이미지/페이지 캐시 예열용으로 버림
+    measure "$image" > /dev/null
+    results=()
+    for run in $(seq 1 "$RUNS"); do
+        millis=$(measure "$image")
+        results+=("$millis")
+        echo "$image,$run,$millis" >> "$CSV"
+    done
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    count=${#sorted[@]}
+    p90_index=$(( (count * 9 + 9) / 10 - 1 ))
+    printf '%-28s runs=%d min=%dms median=%dms p90=%dms max=%dms\n' "$image" "$count" \
+        "${sorted[0]}" "${sorted[$(( count / 2 ))]}" "${sorted[$p90_index]}" "${sorted[$(( count - 1 ))]}"
+done
@@ -0,0 +1,119 @@
+package hello.itemservice.debug.trace;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hello.itemservice.debug.trace.traceStatus.TraceStatus;
+
+/**
+ * 트레이스 상태 관리 비용 측정 (로그 출력은 제외)
+ * Controller -> Service -> Repository 3단 호출 한 번을 기준으로 이전 방식(legacy)과 비교한다.
+ * ./gradlew jmh 결과의 gc.alloc.rate.norm 이 호출 트리 한 번당 할당 바이트
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogTraceBenchmark {
+
+    private final SilentLogTrace logTrace = new SilentLogTrace();
+    private final LegacyLogTrace legacy = new LegacyLogTrace();
+
+    @Benchmark
+    public void threadLocalLogTrace(Blackhole bh) {
+        logTrace.bh = bh;
+        TraceStatus controller = logTrace.begin("BasicItemController.item()");
+        TraceStatus service = logTrace.begin("ItemService.findItem()");
+        TraceStatus repository = logTrace.begin("ItemRepository.findById()");
+        bh.consume(repository);
+        logTrace.end(repository);
+        logTrace.end(service);
+        logTrace.end(controller);
+    }
+
+    @Benchmark
+    public void legacyLogTrace(Blackhole bh) {
+        LegacyStatus controller = legacy.begin("BasicItemController.item()", bh);
+        LegacyStatus service = legacy.begin("ItemService.findItem()", bh);
+        LegacyStatus repository = legacy.begin("ItemRepository.findById()", bh);
+        legacy.end(repository, bh);
+        legacy.end(service, bh);
+        legacy.end(controller, bh);
+    }
+
+    /**
+     * 로그 출력 대신 출력 인자(id, 들여쓰기, 경과 시간)만 소비해서 상태 관리 비용만 남긴 구현
+     */
+    static class SilentLogTrace extends ThreadLocalLogTrace {
+        Blackhole bh;
+
+        @Override
+        protected void writeBegin(String traceId, int level, String message) {
+            bh.consume(traceId);
+            bh.consume(addSpace(START_SPACES, START_PREFIX, level));
+        }
+
+        @Override
+        protected void writeComplete(String traceId, int level, String message, long elapsedNanos, Exception e) {
+            bh.consume(elapsedNanos);
+            bh.consume(addSpace(COMPLETE_SPACES, COMPLETE_PREFIX, level));
+        }
+    }
+
+    /**
+     * 개선 전 구현을 그대로 옮겨 둔 비교 기준
+     * (UUID id, 레벨마다 새 TraceId, 호출마다 새 StringBuilder, boxed Long, currentTimeMillis)
+     */
+    static class LegacyLogTrace {
+        private final ThreadLocal<LegacyId> holder = new ThreadLocal<>();
+
+        LegacyStatus begin(String message, Blackhole bh) {
+            LegacyId id = holder.get();
+            id = id == null ? new LegacyId(UUID.randomUUID().toString().substring(0, 8), 0) : new LegacyId(id.id, id.level + 1);
+            holder.set(id);
+            Long start = System.currentTimeMillis();
+            bh.consume(id.id);
+            bh.consume(addSpace("-->", id.level));
+            return new LegacyStatus(id, start, message);
+        }
+
+        void end(LegacyStatus status, Blackhole bh) {
+            Long stop = System.currentTimeMillis();
+            bh.consume(stop - status.start);
+            bh.consume(addSpace("<--", status.id.level));
+            LegacyId id = holder.get();
+            if (id.level == 0) {
+                holder.remove();
+            } else {
+                holder.set(new LegacyId(id.id, id.level - 1));
+            }
+        }
+
+        private static String addSpace(String prefix, int level) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < level; i++) {
+                sb.append((i == level - 1) ? "|" + prefix : "| ");
+            }
+            return sb.toString();
+        }
+    }
+
+    record LegacyId(String id, int level) {
+    }
+
+    record LegacyStatus(LegacyId id, Long start, String message) {
+    }
+}
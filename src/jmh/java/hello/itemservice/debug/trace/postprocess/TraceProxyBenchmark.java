@@ -0,0 +1,123 @@
+package hello.itemservice.debug.trace.postprocess;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import hello.itemservice.debug.trace.LogTrace;
+import hello.itemservice.debug.trace.latency.MethodLatencyRecorder;
+import hello.itemservice.debug.trace.profile.CallTreeProfiler;
+import hello.itemservice.debug.trace.traceStatus.TraceStatus;
+
+/**
+ * 트레이스 프록시 경로별 호출 비용 비교 (로그 출력 제외)
+ * - direct   : 프록시 없음
+ * - excluded : 프록시는 있지만 포인트컷에서 제외된 메서드 (어드바이스 체인 없음)
+ * - traced   : 포인트컷 대상 메서드 (라벨 조회 + LogTrace + 히스토그램 기록)
+ * - profiled : traced + 호출 트리 프로파일 기록
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceProxyBenchmark {
+
+    public interface Target {
+        int traced(int value);
+
+        int excluded(int value);
+    }
+
+    public static class TargetImpl implements Target {
+        @Override
+        public int traced(int value) {
+            return value + 1;
+        }
+
+        @Override
+        public int excluded(int value) {
+            return value + 1;
+        }
+    }
+
+    private Target direct;
+    private Target proxy;
+    private Target profiledProxy;
+    private CallTreeProfiler profiler;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        TraceAopProperties properties = new TraceAopProperties();
+        properties.setIncludePackages(List.of("hello.itemservice"));
+        properties.setExcludeMethodPatterns(List.of("excluded"));
+
+        direct = new TargetImpl();
+        ProxyFactory proxyFactory = new ProxyFactory(new TargetImpl());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new TracePointcut(properties),
+                new TraceCustomAdviser(new NoOpLogTrace(), new MethodLatencyRecorder(), null)));
+        proxy = (Target) proxyFactory.getProxy();
+
+        profiler = new CallTreeProfiler(Duration.ofMinutes(1), 10_000, 64);
+        ProxyFactory profiledFactory = new ProxyFactory(new TargetImpl());
+        profiledFactory.addAdvisor(new DefaultPointcutAdvisor(new TracePointcut(properties),
+                new TraceCustomAdviser(new NoOpLogTrace(), new MethodLatencyRecorder(), profiler)));
+        profiledProxy = (Target) profiledFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        profiler.shutdown();
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.traced(value++);
+    }
+
+    @Benchmark
+    public int excluded() {
+        return proxy.excluded(value++);
+    }
+
+    @Benchmark
+    public int traced() {
+        return proxy.traced(value++);
+    }
+
+    @Benchmark
+    public int profiled() {
+        return profiledProxy.traced(value++);
+    }
+
+    static class NoOpLogTrace implements LogTrace {
+        @Override
+        public TraceStatus begin(String message) {
+            return null;
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import hello.itemservice.debug.trace.ThreadLocalLogTrace;
+import hello.itemservice.debug.trace.TraceSampling;
+import hello.itemservice.debug.trace.latency.MethodLatencyRecorder;
+import hello.itemservice.debug.trace.postprocess.TraceAopProperties;
+import hello.itemservice.debug.trace.postprocess.TraceCustomAdviser;
+import hello.itemservice.debug.trace.postprocess.TracePointcut;
+
+/**
+ * JdbcTemplateItemRepository 호출 비용 (임베디드 인메모리 H2, 테이블 크기별)
+ * - findByIdTraced : 트레이스 프록시를 거친 findById. 출력은 하지 않도록 HEAD 샘플링(사실상 0%)으로 두어
+ *                    컨텍스트 관리 + 히스토그램 기록 비용만 더해진다.
+ * save 로 늘어난 행은 iteration 마다 지워서 테이블 크기를 유지한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRepositoryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int tableSize;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplateItemRepository repository;
+    private ItemRepository traced;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:bench-" + tableSize + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(4);
+        config.setPoolName("BenchmarkPool");
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        repository = new JdbcTemplateItemRepository(dataSource, 500, 1000);
+        repository.clearStore();
+        List<Item> seed = new ArrayList<>(tableSize);
+        for (int i = 0; i < tableSize; i++) {
+            seed.add(new Item("item-" + i, 1000 + i % 9000, i % 100));
+        }
+        repository.saveAll(seed);
+        minId = seed.get(0).getId();
+        maxId = seed.get(seed.size() - 1).getId();
+
+        TraceAopProperties properties = new TraceAopProperties();
+        properties.setIncludePackages(List.of("hello.itemservice"));
+        ProxyFactory proxyFactory = new ProxyFactory(repository);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new TracePointcut(properties),
+                new TraceCustomAdviser(
+                        new ThreadLocalLogTrace(new TraceSampling(TraceSampling.Mode.HEAD, Integer.MAX_VALUE, 0, 2)),
+                        new MethodLatencyRecorder(), null)));
+        traced = (ItemRepository) proxyFactory.getProxy();
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeInserted() {
+        new JdbcTemplate(dataSource).update("DELETE FROM item WHERE id > ?", maxId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Item save() {
+        return repository.save(new Item("bench", 1000, 10));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return repository.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Item findByIdTraced() {
+        return traced.findById(randomId()).orElseThrow();
+    }
+
+    /**
+     * 장바구니 크기(200건) 묶음 조회 - findById 200번과 비교
+     */
+    @Benchmark
+    public List<Item> findAllByIds() {
+        List<Long> ids = new ArrayList<>(200);
+        for (int i = 0; i < 200; i++) {
+            ids.add(randomId());
+        }
+        return repository.findAllByIds(ids);
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Item> findPage() {
+        return repository.findPage(randomId(), 20);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
@@ -0,0 +1,54 @@
+package hello.itemservice.domain.item;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * itemRowMapper 한 행 매핑 비용 (DB 왕복 없이 메모리 ResultSet 사용)
+ * 컬럼 이름 조회(findColumn) + Item 생성 비용이 포함된다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRowMapperBenchmark {
+
+    private final RowMapper<Item> mapper = JdbcTemplateItemRepository.itemRowMapper();
+    private SimpleResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        resultSet = new SimpleResultSet();
+        resultSet.addColumn("ID", Types.BIGINT, 19, 0);
+        resultSet.addColumn("ITEM_NAME", Types.VARCHAR, 100, 0);
+        resultSet.addColumn("PRICE", Types.INTEGER, 10, 0);
+        resultSet.addColumn("QUANTITY", Types.INTEGER, 10, 0);
+        resultSet.addColumn("VERSION", Types.BIGINT, 19, 0);
+        resultSet.addRow(1L, "itemA", 10000, 10, 0L);
+        // 같은 행을 반복해서 읽을 수 있도록 (beforeFirst 허용)
+        resultSet.setAutoClose(false);
+    }
+
+    @Benchmark
+    public Item mapRow() throws SQLException {
+        resultSet.beforeFirst();
+        resultSet.next();
+        return mapper.mapRow(resultSet, 0);
+    }
+}
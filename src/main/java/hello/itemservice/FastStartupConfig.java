@@ -0,0 +1,28 @@
+package hello.itemservice;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
+import hello.itemservice.service.item.ItemService;
+import hello.itemservice.web.item.basic.BasicItemController;
+
+/**
+ * fast-startup 프로필: 빈을 처음 쓰일 때 만들고(spring.main.lazy-initialization), 첫 요청 경로만 미리 만든다.
+ * 커넥션 풀까지 기동 시 만들어 두어야 첫 요청이 풀 생성/DB 연결 비용을 떠안지 않는다.
+ */
+@Configuration
+@Profile("fast-startup")
+class FastStartupConfig {
+
+    // BeanFactoryPostProcessor 단계에서 조회되므로 static
+    @Bean
+    static LazyInitializationExcludeFilter eagerCriticalPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, PoolMetricsRegistry.class, ItemService.class, BasicItemController.class);
+    }
+}
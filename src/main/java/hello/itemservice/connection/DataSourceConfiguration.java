@@ -1,17 +1,22 @@
 package hello.itemservice.connection;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.sql.DataSource;
 
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
-import static hello.itemservice.connection.ConnectionConst.PASSWORD;
-import static hello.itemservice.connection.ConnectionConst.URL;
-import static hello.itemservice.connection.ConnectionConst.USERNAME;
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
 
 /**
  * 데이터소스 제공자 설정을 위한 Configuration 클래스
@@ -19,27 +24,65 @@ import static hello.itemservice.connection.ConnectionConst.USERNAME;
  */
 @Configuration
 public class DataSourceConfiguration {
-    
+
     /**
-     * HikariCP DataSource - 트랜잭션 지원을 위한 메인 DataSource
-     * ItemDBRepository가 사용하는 DataSource
+     * 커넥션 풀 지표 (획득/사용 시간 히스토그램, 사용 중/유휴/대기 수)
+     */
+    @Bean
+    public PoolMetricsRegistry poolMetricsRegistry() {
+        return new PoolMetricsRegistry();
+    }
+
+    /**
+     * primary / replica 커넥션 풀과 읽기 전용 트랜잭션 라우팅 (custom.datasource.*)
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource routingDataSource(Environment environment, PoolMetricsRegistry poolMetrics) {
+        DataSourceRoutingProperties properties = Binder.get(environment)
+                .bind("custom.datasource", DataSourceRoutingProperties.class)
+                .orElseGet(DataSourceRoutingProperties::new);
+
+        DataSource primary = createPool("ItemServicePool", properties.getPrimary(), poolMetrics);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(createPool("ItemServiceReplicaPool-" + i, properties.getReplicas().get(i), poolMetrics));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getReplicaSelection());
+    }
+
+    /**
+     * 애플리케이션이 사용하는 DataSource
+     * 트랜잭션 시작 시점이 아니라 첫 SQL 실행 시점에 커넥션을 꺼내므로
+     * 라우팅이 readOnly 여부를 볼 수 있고, 캐시에서 끝나는 요청은 커넥션을 아예 잡지 않는다.
      */
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routingDataSource);
+        // 기본값을 알아내려고 기동 시 커넥션을 미리 꺼내지 않도록 지정 (H2 기본값)
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * HikariCP 커넥션 풀 생성
+     */
+    private HikariDataSource createPool(String poolName, DataSourceRoutingProperties.Pool pool,
+                                        PoolMetricsRegistry poolMetrics) {
         HikariConfig config = new HikariConfig();
         
         // 기본 연결 설정
-        config.setJdbcUrl(URL);
-        config.setUsername(USERNAME);
-        config.setPassword(PASSWORD);
+        config.setJdbcUrl(pool.getUrl());
+        config.setUsername(pool.getUsername());
+        config.setPassword(pool.getPassword());
         
         // 연결 풀 설정
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(5);
-        config.setConnectionTimeout(30000);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
+        config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        config.setMinimumIdle(pool.getMinimumIdle());
+        config.setConnectionTimeout(pool.getConnectionTimeoutMs());
+        config.setIdleTimeout(pool.getIdleTimeoutMs());
+        config.setMaxLifetime(pool.getMaxLifetimeMs());
         
         // 연결 유효성 검사
         config.setConnectionTestQuery("SELECT 1");
@@ -47,13 +90,18 @@ public class DataSourceConfiguration {
         
         // 성능 최적화
         config.setLeakDetectionThreshold(60000);
-        config.setPoolName("ItemServicePool");
+        config.setPoolName(poolName);
         
         // H2 데이터베이스 특화 설정
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+
+        // 지표 수집
+        config.setMetricsTrackerFactory(poolMetrics);
         
-        return new HikariDataSource(config);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        poolMetrics.bind(dataSource);
+        return dataSource;
     }
 }
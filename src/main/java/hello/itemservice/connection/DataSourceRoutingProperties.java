@@ -0,0 +1,44 @@
+package hello.itemservice.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 커넥션 풀 설정 (custom.datasource.*)
+ * 값을 지정하지 않으면 ConnectionConst 와 기존 풀 설정을 기본값으로 사용한다.
+ */
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    /** 쓰기 + 읽기-후-쓰기(read-your-writes) 경로가 사용하는 풀 */
+    private Pool primary = new Pool();
+
+    /** 읽기 전용 트랜잭션이 사용하는 복제본 풀. 비어 있으면 모든 요청이 primary 로 */
+    private List<Pool> replicas = new ArrayList<>();
+
+    private ReplicaSelection replicaSelection = ReplicaSelection.ROUND_ROBIN;
+
+    public enum ReplicaSelection {
+        /** 순서대로 돌아가며 선택 */
+        ROUND_ROBIN,
+        /** 사용 중 + 대기 중 커넥션이 가장 적은 풀 선택 */
+        LEAST_BUSY
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private String url = ConnectionConst.URL;
+        private String username = ConnectionConst.USERNAME;
+        private String password = ConnectionConst.PASSWORD;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 5;
+        private long connectionTimeoutMs = 30000;
+        private long idleTimeoutMs = 600000;
+        private long maxLifetimeMs = 1800000;
+    }
+}
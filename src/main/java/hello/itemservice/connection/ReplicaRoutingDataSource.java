@@ -0,0 +1,107 @@
+package hello.itemservice.connection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import hello.itemservice.connection.DataSourceRoutingProperties.ReplicaSelection;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지(쓰기, 트랜잭션 밖 호출)는 primary 로 보내는 DataSource
+ * 트랜잭션의 readOnly 여부는 커넥션을 실제로 꺼낼 때 결정되므로
+ * 반드시 LazyConnectionDataSourceProxy 뒤에 두고 사용한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica-";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaSelection selection) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // 스프링 밖(테스트, 벤치마크)에서 바로 쓸 수 있도록 여기서 초기화 (다시 호출돼도 무방)
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!routesToReplica()) {
+            return PRIMARY;
+        }
+        return REPLICA + selectReplica();
+    }
+
+    /**
+     * 현재 스레드에서 꺼내는 커넥션이 복제본으로 가는지 여부
+     * 복제 지연이 있으므로 이 경우 읽은 값은 primary 보다 오래됐을 수 있다.
+     */
+    public boolean routesToReplica() {
+        return !replicas.isEmpty() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private int selectReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return start;
+        }
+        // least-busy: 동점이면 라운드 로빈 시작점부터 먼저 만난 풀 (한쪽으로 몰리지 않도록)
+        int best = start;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            int load = load(replicas.get(index));
+            if (load < bestLoad) {
+                best = index;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private static int load(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 풀 종료 (빈 destroy 메서드)
+     */
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
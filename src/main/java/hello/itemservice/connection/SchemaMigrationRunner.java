@@ -0,0 +1,40 @@
+package hello.itemservice.connection;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 schema.sql 을 primary 에 적용 (custom.schema.apply-on-startup=false 면 건너뜀)
+ * 모든 문장이 IF NOT EXISTS 라 여러 번, 여러 인스턴스에서 실행해도 안전하고, version 컬럼이 없던 기존 DB 에는 컬럼을 추가한다.
+ * 다른 ApplicationRunner(시드 적재)와 ApplicationReadyEvent(검색 인덱스/분석 스냅샷 구성)보다 먼저 실행된다.
+ * 복제본에는 적용하지 않는다 (primary 에서 복제되어야 하므로)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "custom.schema", name = "apply-on-startup", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+
+    public SchemaMigrationRunner(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // 트랜잭션 밖(읽기 전용 아님)이므로 라우팅 데이터소스가 primary 로 보낸다
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        log.info("schema.sql 적용 완료 (primary)");
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.connection.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+/**
+ * 커넥션 풀 하나의 지표
+ * 히스토그램은 HikariCP 가 커넥션을 빌려줄 때/돌려받을 때 호출하는 tracker 로 기록하고,
+ * 사용 중/유휴/대기 수는 조회 시점에 풀에서 바로 읽는다 (PoolStats 는 1초 캐시라 부하 차단에 쓰기엔 늦다).
+ */
+public class PoolMetrics implements IMetricsTracker {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String poolName;
+    // 커넥션 획득 대기 시간 (나노초), 커넥션 대여 시간 (밀리초 - HikariCP 가 ms 로 넘겨줌)
+    private final Recorder acquireNanos = new Recorder(SIGNIFICANT_DIGITS, true);
+    private final Recorder usageMillis = new Recorder(SIGNIFICANT_DIGITS, true);
+    private final LongAdder timeouts = new LongAdder();
+    private volatile HikariPoolMXBean pool;
+
+    // 아래는 조회 스레드에서 this 락으로만 접근
+    private final Histogram acquireTotal = new PackedHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram usageTotal = new PackedHistogram(SIGNIFICANT_DIGITS);
+
+    PoolMetrics(String poolName) {
+        this.poolName = poolName;
+    }
+
+    void bind(HikariPoolMXBean pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireNanos.recordValue(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usageMillis.recordValue(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * 커넥션을 기다리는 스레드 수 (실시간)
+     */
+    public int pendingThreads() {
+        HikariPoolMXBean current = pool;
+        return current == null ? 0 : current.getThreadsAwaitingConnection();
+    }
+
+    synchronized PoolMetricsSnapshot snapshot() {
+        acquireTotal.add(acquireNanos.getIntervalHistogram());
+        usageTotal.add(usageMillis.getIntervalHistogram());
+        HikariPoolMXBean current = pool;
+        return new PoolMetricsSnapshot(poolName,
+                current == null ? 0 : current.getActiveConnections(),
+                current == null ? 0 : current.getIdleConnections(),
+                current == null ? 0 : current.getThreadsAwaitingConnection(),
+                current == null ? 0 : current.getTotalConnections(),
+                timeouts.sum(),
+                PoolMetricsSnapshot.Distribution.of(acquireTotal, TimeUnit.MILLISECONDS.toNanos(1)),
+                PoolMetricsSnapshot.Distribution.of(usageTotal, 1));
+    }
+
+    synchronized void reset() {
+        acquireNanos.reset();
+        usageMillis.reset();
+        acquireTotal.reset();
+        usageTotal.reset();
+    }
+}
@@ -0,0 +1,54 @@
+package hello.itemservice.connection.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * 모든 커넥션 풀(primary, replica)의 지표 모음
+ * HikariConfig.setMetricsTrackerFactory 로 넘기면 풀이 만들어질 때 풀별 PoolMetrics 를 받아 간다.
+ */
+public class PoolMetricsRegistry implements MetricsTrackerFactory {
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return pools.computeIfAbsent(poolName, PoolMetrics::new);
+    }
+
+    /**
+     * 풀이 시작된 뒤 실시간 상태(사용 중/대기 수)를 읽을 수 있도록 연결
+     */
+    public void bind(HikariDataSource dataSource) {
+        pools.computeIfAbsent(dataSource.getPoolName(), PoolMetrics::new)
+                .bind(dataSource.getHikariPoolMXBean());
+    }
+
+    /**
+     * 풀들 중 가장 많은 커넥션 대기 스레드 수
+     */
+    public int maxPendingThreads() {
+        int max = 0;
+        for (PoolMetrics metrics : pools.values()) {
+            max = Math.max(max, metrics.pendingThreads());
+        }
+        return max;
+    }
+
+    public List<PoolMetricsSnapshot> snapshot() {
+        return pools.values().stream()
+                .map(PoolMetrics::snapshot)
+                .sorted((a, b) -> a.getPool().compareTo(b.getPool()))
+                .toList();
+    }
+
+    public void reset() {
+        pools.values().forEach(PoolMetrics::reset);
+    }
+}
@@ -0,0 +1,50 @@
+package hello.itemservice.connection.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 커넥션 풀 상태와 획득/사용 시간 분포 (ms)
+ */
+@Getter
+@RequiredArgsConstructor
+public class PoolMetricsSnapshot {
+
+    private final String pool;
+    private final int active;
+    private final int idle;
+    private final int pending;
+    private final int total;
+    private final long timeouts;
+    private final Distribution acquire;
+    private final Distribution usage;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Distribution {
+        private final long count;
+        private final double meanMs;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double p999Ms;
+        private final double maxMs;
+
+        /**
+         * @param unitsPerMilli 히스토그램 값 단위를 ms 로 바꾸는 나눗수 (나노초면 1_000_000)
+         */
+        static Distribution of(Histogram histogram, long unitsPerMilli) {
+            if (histogram.getTotalCount() == 0) {
+                return new Distribution(0, 0, 0, 0, 0, 0);
+            }
+            double divisor = unitsPerMilli;
+            return new Distribution(histogram.getTotalCount(),
+                    histogram.getMean() / divisor,
+                    histogram.getValueAtPercentile(50) / divisor,
+                    histogram.getValueAtPercentile(99) / divisor,
+                    histogram.getValueAtPercentile(99.9) / divisor,
+                    histogram.getMaxValue() / divisor);
+        }
+    }
+}
@@ -1,10 +1,25 @@
 package hello.itemservice.debug.trace;
 
 
+import hello.itemservice.debug.trace.traceStatus.TraceSnapshot;
 import hello.itemservice.debug.trace.traceStatus.TraceStatus;
 
 public interface LogTrace {
     public TraceStatus begin(String message);
     public void end(TraceStatus status);
     public void exception(TraceStatus status, Exception e);
+
+    /**
+     * 현재 스레드의 트레이스 위치. 진행 중인 트레이스가 없으면 null
+     */
+    public default TraceSnapshot capture() {
+        return null;
+    }
+
+    /**
+     * capture 한 위치를 현재 스레드에서 이어받는다 (parent 가 null 이면 아무것도 하지 않음)
+     */
+    public default TraceScope restore(TraceSnapshot parent) {
+        return TraceScope.NOOP;
+    }
 }
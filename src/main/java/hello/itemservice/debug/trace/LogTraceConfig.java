@@ -1,10 +1,53 @@
 package hello.itemservice.debug.trace;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 
+import hello.itemservice.debug.trace.async.AsyncLogTrace;
+import hello.itemservice.debug.trace.propagation.TraceTaskDecorator;
+
+/**
+ * LogTrace 구현 선택
+ * custom.trace.async.enabled=true 이면 링 버퍼 기반 AsyncLogTrace, 아니면 동기 ThreadLocalLogTrace
+ * 샘플링 방식은 custom.trace.sampling.* 로 공통 적용
+ */
 @Configuration
 class LogTraceConfig {
-    public LogTrace logTrace() {
-        return new ThreadLocalLogTrace();
+
+    @Bean
+    public TraceSampling traceSampling(@Value("${custom.trace.sampling.mode:all}") String mode,
+                                       @Value("${custom.trace.sampling.rate:100}") int rate,
+                                       @Value("${custom.trace.sampling.slow-threshold-ms:500}") long slowThresholdMs,
+                                       @Value("${custom.trace.sampling.max-buffered-spans:512}") int maxBufferedSpans) {
+        return new TraceSampling(TraceSampling.Mode.valueOf(mode.trim().toUpperCase()), rate,
+                slowThresholdMs, maxBufferedSpans);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.trace.async", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public LogTrace logTrace(TraceSampling traceSampling) {
+        return new ThreadLocalLogTrace(traceSampling);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "custom.trace.async", name = "enabled", havingValue = "true")
+    public LogTrace asyncLogTrace(TraceSampling traceSampling,
+                                  @Value("${custom.trace.async.buffer-size:8192}") int bufferSize,
+                                  @Value("${custom.trace.async.overflow-policy:drop}") String overflowPolicy,
+                                  @Value("${custom.trace.async.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        return new AsyncLogTrace(traceSampling, bufferSize,
+                AsyncLogTrace.OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase()), shutdownTimeoutMs);
+    }
+
+    /**
+     * Spring Boot 가 자동 구성하는 TaskExecutor(applicationTaskExecutor)에 제출된 작업이 제출 스레드의 트레이스를 이어받도록 연결
+     * (@EnableAsync 는 켜져 있지 않으므로 @Async 에는 적용되지 않는다)
+     */
+    @Bean
+    public TaskDecorator traceTaskDecorator(LogTrace logTrace) {
+        return new TraceTaskDecorator(logTrace);
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,60 @@
 package hello.itemservice.debug.trace;
 
-import org.springframework.stereotype.Component;
-
-import hello.itemservice.debug.trace.traceStatus.TraceId;
+import hello.itemservice.debug.trace.traceStatus.TraceContext;
+import hello.itemservice.debug.trace.traceStatus.TraceSnapshot;
+import hello.itemservice.debug.trace.traceStatus.TraceSpanBuffer;
 import hello.itemservice.debug.trace.traceStatus.TraceStatus;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@Component
 public class ThreadLocalLogTrace implements LogTrace {
 
-    private static final String START_PREFIX = "-->";
-    private static final String COMPLETE_PREFIX = "<--";
-    private static final String EX_PREFIX = "<X-";
+    static final String START_PREFIX = "-->";
+    static final String COMPLETE_PREFIX = "<--";
+    static final String EX_PREFIX = "<X-";
+
+    // 깊이별 들여쓰기 문자열을 미리 만들어 둠 (이보다 깊으면 그때그때 생성)
+    private static final int CACHED_LEVELS = 32;
+    static final String[] START_SPACES = spaces(START_PREFIX);
+    static final String[] COMPLETE_SPACES = spaces(COMPLETE_PREFIX);
+    static final String[] EX_SPACES = spaces(EX_PREFIX);
+
+    private final ThreadLocal<TraceContext> contextHolder = ThreadLocal.withInitial(TraceContext::new);
+    private final TraceSampling sampling;
 
-    private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    public ThreadLocalLogTrace() {
+        this(TraceSampling.all());
+    }
+
+    public ThreadLocalLogTrace(TraceSampling sampling) {
+        this.sampling = sampling;
+    }
 
     @Override
     public TraceStatus begin(String message) {
-        TraceId traceId = syncTraceId();
-        Long startTimeMs = System.currentTimeMillis();
+        TraceContext context = contextHolder.get();
+        TraceStatus status = context.push(message, System.nanoTime());
         
-        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX,
-                traceId.getLevel()), message);
+        try {
+            switch (sampling.getMode()) {
+                case ALL -> writeBegin(status.getTraceId().getId(), status.getLevel(), message);
+                case HEAD -> {
+                    if (status.getLevel() == 0) {
+                        context.setSampled(sampling.sampleHead());
+                    }
+                    if (context.isSampled()) {
+                        writeBegin(status.getTraceId().getId(), status.getLevel(), message);
+                    }
+                }
+                case TAIL -> context.spanBuffer(sampling.getMaxBufferedSpans()).addBegin(status.getLevel(), message);
+            }
+        } catch (RuntimeException e) {
+            // 호출자는 status 를 받지 못해 end 를 부를 수 없으므로 여기서 프레임을 되돌린다
+            release(context, status);
+            throw e;
+        }
         
-        return new TraceStatus(traceId, startTimeMs, message);
+        return status;
     }
 
     @Override
@@ -38,47 +68,165 @@ public class ThreadLocalLogTrace implements LogTrace {
     }
 
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTimeMs = stopTimeMs - status.getStartTimeMs();
-        TraceId traceId = status.getTraceId();
+        if (status == null) {
+            // begin 자체가 실패한 경우 - begin 에서 이미 프레임을 되돌렸으므로 남은 상태가 없다
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - status.getStartNanos();
+        TraceContext context = contextHolder.get();
+        try {
+            emitComplete(context, status, elapsedNanos, e);
+        } finally {
+            release(context, status);
+        }
+    }
+
+    private void emitComplete(TraceContext context, TraceStatus status, long elapsedNanos, Exception e) {
+        String traceId = status.getTraceId().getId();
         
+        switch (sampling.getMode()) {
+            case ALL -> writeComplete(traceId, status.getLevel(), status.getMessage(), elapsedNanos, e);
+            case HEAD -> {
+                if (context.isSampled()) {
+                    writeComplete(traceId, status.getLevel(), status.getMessage(), elapsedNanos, e);
+                }
+            }
+            case TAIL -> {
+                TraceSpanBuffer buffer = context.spanBuffer(sampling.getMaxBufferedSpans());
+                if (context.isLocalRoot(status)) {
+                    buffer.addRootComplete(status.getLevel(), status.getMessage(), elapsedNanos, e);
+                    flushTail(traceId, buffer, elapsedNanos, e);
+                } else {
+                    buffer.addComplete(status.getLevel(), status.getMessage(), elapsedNanos, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 프레임 종료 처리. 트레이스가 끝났을 때 가상 스레드면 컨텍스트를 ThreadLocal 에서 제거한다.
+     * 플랫폼 스레드는 풀에서 재사용되므로 컨텍스트를 남겨 두고 다음 요청에서 재사용하지만,
+     * 가상 스레드는 요청마다 새로 만들어지고 버려지므로 남겨 둘 이유가 없다.
+     */
+    private void release(TraceContext context, TraceStatus status) {
+        if (context.pop(status) && !context.isAttached() && Thread.currentThread().isVirtual()) {
+            contextHolder.remove();
+        }
+    }
+
+    @Override
+    public TraceSnapshot capture() {
+        TraceContext context = contextHolder.get();
+        TraceSnapshot snapshot = context.capture();
+        if (snapshot == null && Thread.currentThread().isVirtual()) {
+            contextHolder.remove();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 부모 위치를 이어받는다. 이 스레드에 진행 중인 트레이스가 있으면(호출 스레드에서 바로 실행되는 경우 등)
+     * 그 프레임들을 건드리지 않도록 별도 컨텍스트를 잠시 끼워 넣었다가 close 시 되돌린다.
+     */
+    @Override
+    public TraceScope restore(TraceSnapshot parent) {
+        if (parent == null) {
+            return TraceScope.NOOP;
+        }
+        TraceContext previous = contextHolder.get();
+        TraceContext child = previous.isActive() ? new TraceContext() : previous;
+        child.attach(parent);
+        if (child != previous) {
+            contextHolder.set(child);
+        }
+        return () -> {
+            child.detach();
+            if (child != previous) {
+                contextHolder.set(previous);
+            } else if (Thread.currentThread().isVirtual()) {
+                contextHolder.remove();
+            }
+        };
+    }
+
+    /**
+     * 루트 종료 시 느렸거나 예외였던 트리만 출력하고 버퍼를 비운다
+     */
+    private void flushTail(String traceId, TraceSpanBuffer buffer, long rootElapsedNanos, Exception rootException) {
+        try {
+            if (!sampling.shouldFlushTail(rootElapsedNanos, rootException)) {
+                return;
+            }
+            buffer.replay((begin, level, message, elapsed, ex) -> {
+                if (begin) {
+                    writeBegin(traceId, level, message);
+                } else {
+                    writeComplete(traceId, level, message, elapsed, ex);
+                }
+            });
+            if (buffer.getDropped() > 0) {
+                log.info("[{}] ... {} spans omitted (max-buffered-spans={})", traceId, buffer.getDropped(),
+                        sampling.getMaxBufferedSpans());
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 시작 로그 출력. 하위 구현은 출력 방식(동기/비동기)만 바꿔 끼운다
+     */
+    protected void writeBegin(String traceId, int level, String message) {
+        log.info("[{}] {}{}", traceId, addSpace(START_SPACES, START_PREFIX, level), message);
+    }
+
+    /**
+     * 종료 로그 출력. e 가 null 이 아니면 예외 종료
+     */
+    protected void writeComplete(String traceId, int level, String message, long elapsedNanos, Exception e) {
         if (e == null) {
-            log.info("[{}] {}{} time={}ms", traceId.getId(),
-                    addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(),
-                    resultTimeMs);
+            log.info("[{}] {}{} time={}ms", traceId,
+                    addSpace(COMPLETE_SPACES, COMPLETE_PREFIX, level), message,
+                    formatMillis(elapsedNanos));
         } else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(),
-                    addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs,
+            log.info("[{}] {}{} time={}ms ex={}", traceId,
+                    addSpace(EX_SPACES, EX_PREFIX, level), message, formatMillis(elapsedNanos),
                     e.toString());
         }
-        
-        releaseTraceId();
     }
 
-    private TraceId syncTraceId() {
-        TraceId traceId = traceIdHolder.get();
-        
-        if (traceId == null) {
-            traceId = new TraceId();
-        } else {
-            traceId = traceId.createNextId();
+    /**
+     * 나노초를 소수점 셋째 자리 ms 로 (1ms 미만 호출도 0ms 로 뭉개지지 않도록)
+     */
+    static String formatMillis(long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        StringBuilder sb = new StringBuilder(12).append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            sb.append('0');
         }
-        
-        traceIdHolder.set(traceId);
-        return traceId;
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
     }
 
-    private void releaseTraceId() {
-        TraceId traceId = traceIdHolder.get();
-        
-        if (traceId.isFirstLevel()) {
-            traceIdHolder.remove(); 
-        } else {
-            traceIdHolder.set(traceId.createPreviousId());
+    static String addSpace(String[] cached, String prefix, int level) {
+        if (level < cached.length) {
+            return cached[level];
+        }
+        return buildSpace(prefix, level);
+    }
+
+    private static String[] spaces(String prefix) {
+        String[] result = new String[CACHED_LEVELS];
+        for (int level = 0; level < CACHED_LEVELS; level++) {
+            result[level] = buildSpace(prefix, level);
         }
+        return result;
     }
 
-    private static String addSpace(String prefix, int level) {
+    private static String buildSpace(String prefix, int level) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < level; i++) {
             sb.append( (i == level - 1) ? "|" + prefix : "| ");
@@ -0,0 +1,44 @@
+package hello.itemservice.debug.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * 트레이스 샘플링 설정
+ * ALL  : 모든 호출 출력 (기존 동작)
+ * HEAD : 루트 호출 시작 시점에 1/rate 확률로 트리 전체를 출력할지 결정
+ * TAIL : 트리를 메모리에 모아 두었다가 루트가 느렸거나 예외로 끝난 경우에만 출력
+ */
+@Getter
+public class TraceSampling {
+
+    public enum Mode {
+        ALL, HEAD, TAIL
+    }
+
+    private final Mode mode;
+    private final int rate;
+    private final long slowThresholdNanos;
+    private final int maxBufferedSpans;
+
+    public TraceSampling(Mode mode, int rate, long slowThresholdMs, int maxBufferedSpans) {
+        this.mode = mode;
+        this.rate = Math.max(1, rate);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxBufferedSpans = Math.max(2, maxBufferedSpans);
+    }
+
+    public static TraceSampling all() {
+        return new TraceSampling(Mode.ALL, 1, 0, 2);
+    }
+
+    boolean sampleHead() {
+        return rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    boolean shouldFlushTail(long rootElapsedNanos, Exception rootException) {
+        return rootException != null || rootElapsedNanos >= slowThresholdNanos;
+    }
+}
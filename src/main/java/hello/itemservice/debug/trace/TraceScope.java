@@ -0,0 +1,12 @@
+package hello.itemservice.debug.trace;
+
+/**
+ * LogTrace.restore 로 이어받은 트레이스 구간. close 하면 스레드의 이전 트레이스 상태로 돌아간다
+ */
+public interface TraceScope extends AutoCloseable {
+
+    TraceScope NOOP = () -> { };
+
+    @Override
+    void close();
+}
@@ -0,0 +1,205 @@
+package hello.itemservice.debug.trace.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import hello.itemservice.debug.trace.ThreadLocalLogTrace;
+import hello.itemservice.debug.trace.TraceSampling;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 스레드에서는 링 버퍼에 이벤트만 넣고, 포맷팅과 로그 출력은 백그라운드 writer 스레드가 담당하는 LogTrace
+ * 출력 형식은 ThreadLocalLogTrace 와 동일하다.
+ * 종료 후에는 요청 스레드가 직접 출력한다. 종료 직전에 자리를 잡은 이벤트는 writer 가 publish 를 기다렸다가 출력한다.
+ */
+@Slf4j
+public class AsyncLogTrace extends ThreadLocalLogTrace {
+
+    public enum OverflowPolicy {
+        /** 버퍼가 가득 차면 이벤트를 버리고 dropped 카운터만 증가 */
+        DROP,
+        /** 버퍼에 자리가 날 때까지 요청 스레드가 대기 */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TraceRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long shutdownTimeoutMs;
+    private final Thread writer;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+    // running 확인부터 publish(또는 동기 출력)까지 진행 중인 생산자 수 - writer 는 종료 후 0 이 될 때까지 비운다
+    private final AtomicInteger activeProducers = new AtomicInteger();
+
+    public AsyncLogTrace(TraceSampling sampling, int bufferSize, OverflowPolicy overflowPolicy,
+                         long shutdownTimeoutMs) {
+        super(sampling);
+        this.buffer = new TraceRingBuffer(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.writer = new Thread(this::drainLoop, "trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("AsyncLogTrace 시작 capacity={} overflowPolicy={}", buffer.capacity(), overflowPolicy);
+    }
+
+    @Override
+    protected void writeBegin(String traceId, int level, String message) {
+        activeProducers.incrementAndGet();
+        try {
+            long position = claim();
+            if (position < 0) {
+                if (!running) {
+                    printBegin(traceId, level, message);
+                }
+                return;
+            }
+            TraceEvent event = buffer.slot(position);
+            event.begin = true;
+            event.traceId = traceId;
+            event.level = level;
+            event.message = message;
+            buffer.publish(position);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected void writeComplete(String traceId, int level, String message, long elapsedNanos, Exception e) {
+        activeProducers.incrementAndGet();
+        try {
+            long position = claim();
+            if (position < 0) {
+                if (!running) {
+                    printComplete(traceId, level, message, elapsedNanos, e);
+                }
+                return;
+            }
+            TraceEvent event = buffer.slot(position);
+            event.begin = false;
+            event.traceId = traceId;
+            event.level = level;
+            event.message = message;
+            event.elapsedNanos = elapsedNanos;
+            event.exception = e;
+            buffer.publish(position);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 버퍼 자리 확보. DROP 정책이면 바로 포기, BLOCK 정책이면 writer 가 비워줄 때까지 대기
+     * 종료 후에는 -1 을 돌려주고 호출자가 동기 출력으로 대신한다.
+     */
+    private long claim() {
+        if (!running) {
+            return -1;
+        }
+        long position = buffer.tryClaim();
+        if (position >= 0) {
+            published.increment();
+            return position;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return -1;
+        }
+        int spins = 0;
+        while (running) {
+            position = buffer.tryClaim();
+            if (position >= 0) {
+                published.increment();
+                return position;
+            }
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+            }
+        }
+        return -1;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // 종료 요청 이후에도 이미 들어온 이벤트는 모두 출력
+        // running 을 보기 전에 activeProducers 를 올리므로, 0 이면 자리를 잡은 이벤트는 모두 publish 된 상태
+        // (그 뒤의 생산자는 running=false 를 보고 직접 출력한다)
+        do {
+            if (!drain() && activeProducers.get() > 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+            }
+        } while (activeProducers.get() > 0);
+        while (drain()) {
+            // 비워질 때까지 반복
+        }
+    }
+
+    private boolean drain() {
+        boolean any = false;
+        while (buffer.poll(this::write)) {
+            any = true;
+        }
+        return any;
+    }
+
+    private void write(TraceEvent event) {
+        try {
+            if (event.begin) {
+                printBegin(event.traceId, event.level, event.message);
+            } else {
+                printComplete(event.traceId, event.level, event.message, event.elapsedNanos, event.exception);
+            }
+        } catch (RuntimeException e) {
+            // writer 스레드가 죽으면 버퍼가 영영 비워지지 않으므로 삼킨다
+            log.warn("트레이스 로그 출력 실패", e);
+        }
+    }
+
+    /**
+     * 실제 출력 (writer 스레드, 종료 후에는 요청 스레드)
+     */
+    protected void printBegin(String traceId, int level, String message) {
+        super.writeBegin(traceId, level, message);
+    }
+
+    protected void printComplete(String traceId, int level, String message, long elapsedNanos, Exception e) {
+        super.writeComplete(traceId, level, message, elapsedNanos, e);
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 이벤트를 모두 출력하고 writer 스레드를 정리
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("AsyncLogTrace writer 가 {}ms 안에 종료되지 않았습니다.", shutdownTimeoutMs);
+        }
+        log.info("AsyncLogTrace 종료 published={} dropped={}", published.sum(), dropped.sum());
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
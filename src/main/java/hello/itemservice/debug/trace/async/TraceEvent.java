@@ -0,0 +1,20 @@
+package hello.itemservice.debug.trace.async;
+
+/**
+ * 링 버퍼 슬롯에 미리 할당해 두고 재사용하는 트레이스 이벤트
+ * 생산자가 claim 한 뒤 채우고 publish 하면 소비자(writer 스레드)만 읽는다
+ */
+final class TraceEvent {
+    boolean begin;
+    String traceId;
+    int level;
+    String message;
+    long elapsedNanos;
+    Exception exception;
+
+    void clear() {
+        traceId = null;
+        message = null;
+        exception = null;
+    }
+}
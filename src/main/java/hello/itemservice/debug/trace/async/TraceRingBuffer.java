@@ -0,0 +1,85 @@
+package hello.itemservice.debug.trace.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 다중 생산자 / 단일 소비자용 고정 크기 lock-free 링 버퍼 (Vyukov bounded queue 방식)
+ * 슬롯마다 시퀀스를 두어 생산자는 CAS 한 번으로 자리를 잡고, 이벤트 객체는 미리 만들어 재사용한다.
+ */
+final class TraceRingBuffer {
+
+    private final TraceEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 스레드 전용
+    private long head;
+
+    TraceRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new TraceEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new TraceEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 쓸 자리를 확보. 가득 차 있으면 -1
+     */
+    long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    TraceEvent slot(long position) {
+        return slots[(int) (position & mask)];
+    }
+
+    void publish(long position) {
+        sequences.lazySet((int) (position & mask), position + 1);
+    }
+
+    /**
+     * 다음 이벤트를 꺼내 handler 에 넘기고 슬롯을 반환. 비어 있으면 false
+     */
+    boolean poll(TraceEventHandler handler) {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+        TraceEvent event = slots[index];
+        try {
+            handler.onEvent(event);
+        } finally {
+            event.clear();
+            sequences.lazySet(index, head + slots.length);
+            head++;
+        }
+        return true;
+    }
+
+    interface TraceEventHandler {
+        void onEvent(TraceEvent event);
+    }
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.debug.trace.latency;
+
+import org.HdrHistogram.Histogram;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 메서드별 지연시간 분포 (ms)
+ */
+@Getter
+@RequiredArgsConstructor
+public class LatencySnapshot {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String method;
+    private final long count;
+    private final long errors;
+    private final double meanMs;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p99Ms;
+    private final double p999Ms;
+    private final double maxMs;
+
+    static LatencySnapshot of(String method, Histogram histogram, long errors) {
+        if (histogram.getTotalCount() == 0) {
+            return new LatencySnapshot(method, 0, errors, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySnapshot(method, histogram.getTotalCount(), errors,
+                histogram.getMean() / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,80 @@
+package hello.itemservice.debug.trace.latency;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 메서드 하나의 지연시간 기록 (나노초)와 트레이스 라벨
+ * 기록은 Recorder 로 wait-free, 조회할 때만 interval 히스토그램을 꺼내 누적본에 합친다.
+ */
+public class MethodLatency {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String label;
+    // packed: 실제로 값이 들어간 구간만큼만 메모리 사용
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+    private final LongAdder errors = new LongAdder();
+
+    // 아래는 조회 스레드에서 this 락으로만 접근
+    private final Histogram sinceReset = new PackedHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram sinceInterval = new PackedHistogram(SIGNIFICANT_DIGITS);
+    private long errorsAtReset;
+    private long errorsAtInterval;
+
+    MethodLatency(String label) {
+        this.label = label;
+    }
+
+    /**
+     * "클래스단순명.메서드명()" - 메서드별로 한 번만 만들어 재사용
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public void record(long nanos, boolean failed) {
+        recorder.recordValue(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 마지막 reset 이후 누적 통계
+     */
+    synchronized LatencySnapshot snapshot() {
+        drain();
+        return LatencySnapshot.of(label, sinceReset, errors.sum() - errorsAtReset);
+    }
+
+    /**
+     * 직전 interval 조회 이후 통계. 조회와 동시에 interval 을 새로 시작한다
+     */
+    synchronized LatencySnapshot intervalSnapshot() {
+        drain();
+        long errorCount = errors.sum();
+        LatencySnapshot snapshot = LatencySnapshot.of(label, sinceInterval, errorCount - errorsAtInterval);
+        sinceInterval.reset();
+        errorsAtInterval = errorCount;
+        return snapshot;
+    }
+
+    synchronized void reset() {
+        drain();
+        long errorCount = errors.sum();
+        sinceReset.reset();
+        sinceInterval.reset();
+        errorsAtReset = errorCount;
+        errorsAtInterval = errorCount;
+    }
+
+    private void drain() {
+        Histogram interval = recorder.getIntervalHistogram();
+        sinceReset.add(interval);
+        sinceInterval.add(interval);
+    }
+}
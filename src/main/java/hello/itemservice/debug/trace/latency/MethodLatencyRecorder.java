@@ -0,0 +1,71 @@
+package hello.itemservice.debug.trace.latency;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 트레이스 대상 메서드별 지연시간 히스토그램 저장소
+ * 같은 인터페이스 메서드라도 구현 클래스(예: JdbcTemplateItemRepository / CachingItemRepository)별로 따로 기록한다.
+ * 기록 경로는 ConcurrentHashMap 조회 + Recorder 기록뿐이라 락이 없다.
+ */
+@Component
+public class MethodLatencyRecorder {
+
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, MethodLatency>> latencies =
+            new ConcurrentHashMap<>();
+    private final Function<Class<?>, ConcurrentHashMap<Method, MethodLatency>> newClassEntry =
+            key -> new ConcurrentHashMap<>();
+
+    /**
+     * (구현 클래스, 메서드)별 기록 핸들. 처음 한 번만 만들고 이후에는 할당 없이 조회
+     */
+    public MethodLatency latency(Class<?> targetClass, Method method) {
+        ConcurrentHashMap<Method, MethodLatency> byMethod = latencies.get(targetClass);
+        if (byMethod == null) {
+            byMethod = latencies.computeIfAbsent(targetClass, newClassEntry);
+        }
+        MethodLatency latency = byMethod.get(method);
+        if (latency == null) {
+            latency = byMethod.computeIfAbsent(method, m -> new MethodLatency(label(targetClass, m)));
+        }
+        return latency;
+    }
+
+    public void record(Class<?> targetClass, Method method, long nanos, boolean failed) {
+        latency(targetClass, method).record(nanos, failed);
+    }
+
+    public List<LatencySnapshot> snapshot() {
+        List<LatencySnapshot> result = new ArrayList<>();
+        forEach(latency -> result.add(latency.snapshot()));
+        result.sort(Comparator.comparing(LatencySnapshot::getMethod));
+        return result;
+    }
+
+    public List<LatencySnapshot> intervalSnapshot() {
+        List<LatencySnapshot> result = new ArrayList<>();
+        forEach(latency -> result.add(latency.intervalSnapshot()));
+        result.sort(Comparator.comparing(LatencySnapshot::getMethod));
+        return result;
+    }
+
+    public void reset() {
+        forEach(MethodLatency::reset);
+    }
+
+    private void forEach(Consumer<MethodLatency> action) {
+        latencies.values().forEach(byMethod -> byMethod.values().forEach(action));
+    }
+
+    private static String label(Class<?> targetClass, Method method) {
+        return ClassUtils.getUserClass(targetClass).getSimpleName() + "." + method.getName() + "()";
+    }
+}
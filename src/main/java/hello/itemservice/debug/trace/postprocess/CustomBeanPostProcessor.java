@@ -1,42 +1,62 @@
 package hello.itemservice.debug.trace.postprocess;
 
-import org.springframework.aop.Pointcut;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 
 import hello.itemservice.debug.trace.LogTrace;
+import hello.itemservice.debug.trace.latency.MethodLatencyRecorder;
+import hello.itemservice.debug.trace.profile.CallTreeProfiler;
 
+/**
+ * custom.aop.* 규칙(TracePointcut)에 맞는 빈에만 트레이스 프록시를 씌운다.
+ * 어드바이저는 하나를 만들어 모든 빈이 공유하고, 이미 AOP 프록시인 빈(@Transactional 등)은
+ * 프록시를 한 겹 더 만들지 않고 기존 프록시 맨 앞에 어드바이저만 추가한다.
+ */
 @Profile("trace")
 @Component
 public class CustomBeanPostProcessor implements BeanPostProcessor {
 
-    private final LogTrace logTrace;
+    private final DefaultPointcutAdvisor advisor;
 
-    private final String traceBackPackage; 
-    public CustomBeanPostProcessor(LogTrace logTrace, @Value("${custom.aop.target-package}") String traceBackPackage) { 
-        this.logTrace = logTrace;
-        this.traceBackPackage = traceBackPackage;
+    // LogTrace 등은 ObjectProvider 로 받아 첫 호출 때 꺼낸다. 생성자에서 바로 주입받으면
+    // BeanPostProcessor 와 함께 일찍 만들어져 다른 후처리(프록시 등)를 받지 못한다 (BeanPostProcessorChecker 경고)
+    public CustomBeanPostProcessor(ObjectProvider<LogTrace> logTrace,
+                                   ObjectProvider<MethodLatencyRecorder> latencyRecorder,
+                                   ObjectProvider<CallTreeProfiler> profiler,
+                                   Environment environment) {
+        TraceAopProperties properties = Binder.get(environment)
+                .bind("custom.aop", TraceAopProperties.class)
+                .orElseGet(TraceAopProperties::new);
+        SingletonSupplier<TraceCustomAdviser> adviser = SingletonSupplier.of(
+                () -> new TraceCustomAdviser(logTrace.getObject(), latencyRecorder.getObject(),
+                        profiler.getIfAvailable()));
+        MethodInterceptor advice = invocation -> adviser.obtain().invoke(invocation);
+        this.advisor = new DefaultPointcutAdvisor(new TracePointcut(properties), advice);
     }
     @Override
     public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
-        String packageName = bean.getClass().getPackageName();
-        if (!packageName.startsWith(traceBackPackage)) {
-        return bean;
-}
-        if (beanName.contains("Service")||beanName.contains("Repository")||beanName.contains("Controller")) {
-            ProxyFactory proxyFactory = new ProxyFactory(bean);
-            DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(Pointcut.TRUE, new TraceCustomAdviser(logTrace));
-            
-            proxyFactory.addAdvisor(advisor);
-            Object proxy = proxyFactory.getProxy();
-            return proxy;
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!AopUtils.canApply(advisor, targetClass)) {
+            return bean;
+        }
+        if (bean instanceof Advised advised && AopUtils.isAopProxy(bean) && !advised.isFrozen()) {
+            advised.addAdvisor(0, advisor);
+            return bean;
         }
-        return bean;
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy();
     }
 }
@@ -0,0 +1,41 @@
+package hello.itemservice.debug.trace.postprocess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 트레이스 대상 선정 규칙 (custom.aop.*)
+ * BeanPostProcessor 가 다른 빈보다 먼저 만들어지므로 @ConfigurationProperties 빈 대신 Binder 로 직접 바인딩한다.
+ */
+@Getter
+@Setter
+public class TraceAopProperties {
+
+    /** 기본 대상 패키지 (include-packages 가 비어 있을 때 사용) */
+    private String targetPackage = "hello.itemservice";
+
+    /** 대상 패키지 (접두사 일치) */
+    private List<String> includePackages = new ArrayList<>();
+
+    /** 제외 패키지 (접두사 일치, include 보다 우선) */
+    private List<String> excludePackages = new ArrayList<>();
+
+    /** 클래스에 이 중 하나가 (메타 애너테이션 포함) 붙어 있어야 대상. 비어 있으면 검사하지 않음 */
+    private List<String> includeAnnotations = new ArrayList<>();
+
+    /**
+     * 메서드 패턴 ('*' 와일드카드). '.' 이 있으면 "클래스단순명.메서드명", 없으면 메서드명과 비교
+     * 비어 있으면 모든 public 메서드
+     */
+    private List<String> includeMethodPatterns = new ArrayList<>();
+
+    /** 제외 메서드 패턴 (include 보다 우선). Object 메서드는 항상 제외 */
+    private List<String> excludeMethodPatterns = new ArrayList<>();
+
+    public List<String> resolvedIncludePackages() {
+        return includePackages.isEmpty() ? List.of(targetPackage) : includePackages;
+    }
+}
@@ -1,40 +1,64 @@
 package hello.itemservice.debug.trace.postprocess;
 
-import java.lang.reflect.Method;
-
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import hello.itemservice.debug.trace.LogTrace;
+import hello.itemservice.debug.trace.latency.MethodLatency;
+import hello.itemservice.debug.trace.latency.MethodLatencyRecorder;
+import hello.itemservice.debug.trace.profile.CallTreeProfiler;
 import hello.itemservice.debug.trace.traceStatus.TraceStatus;
 
 @Component
 public class TraceCustomAdviser implements MethodInterceptor{
     private final LogTrace logTrace;
+    private final MethodLatencyRecorder latencyRecorder;
+    // 호출 트리 프로파일이 꺼져 있으면 null
+    private final CallTreeProfiler profiler;
 
-    public TraceCustomAdviser(LogTrace logTrace) {
+    public TraceCustomAdviser(LogTrace logTrace, MethodLatencyRecorder latencyRecorder,
+                              @Nullable CallTreeProfiler profiler) {
         this.logTrace = logTrace;
+        this.latencyRecorder = latencyRecorder;
+        this.profiler = profiler;
     }
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         TraceStatus status = null;
+        Object target = invocation.getThis();
+        // 라벨("클래스.메서드()")과 히스토그램은 (구현 클래스, 메서드)별로 한 번만 만들어 캐시
+        MethodLatency latency = latencyRecorder.latency(
+                target == null ? invocation.getMethod().getDeclaringClass() : target.getClass(),
+                invocation.getMethod());
+        long startNanos = 0;
+        int profileDepth = profiler == null ? -1 : profiler.enter(latency.getLabel());
+        boolean failed = true;
 
         try {
-            Method method= invocation.getMethod();
-            String message = method.getDeclaringClass().getSimpleName() + "."+ method.getName() + "()";
-            status=logTrace.begin(message);
+            status=logTrace.begin(latency.getLabel());
+            startNanos = System.nanoTime();
 
             Object result =invocation.proceed();
 
-            
+            latency.record(System.nanoTime() - startNanos, false);
             logTrace.end(status);
+            failed = false;
 
             return result;
         } catch (Exception e) {
+            if (status != null) {
+                latency.record(System.nanoTime() - startNanos, true);
+            }
             logTrace.exception(status, e);
             throw e;
+        } finally {
+            // Error 로 빠져나가도 스택이 어긋나지 않도록 finally 에서
+            if (profileDepth >= 0) {
+                profiler.exit(profileDepth, failed);
+            }
         }
     }
 }
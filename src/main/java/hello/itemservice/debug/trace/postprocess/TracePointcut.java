@@ -0,0 +1,86 @@
+package hello.itemservice.debug.trace.postprocess;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * TraceAopProperties 규칙으로 만든 정적 포인트컷
+ * 정적 포인트컷이라 매칭 결과는 프록시 생성 시 메서드별로 한 번 계산되어 캐시되고, 호출 시점 비용은 없다.
+ */
+public class TracePointcut extends StaticMethodMatcherPointcut {
+
+    private final List<String> includePackages;
+    private final List<String> excludePackages;
+    private final List<Class<? extends Annotation>> includeAnnotations;
+    private final String[] includeMethodPatterns;
+    private final String[] excludeMethodPatterns;
+
+    @SuppressWarnings("unchecked")
+    public TracePointcut(TraceAopProperties properties) {
+        this.includePackages = properties.resolvedIncludePackages();
+        this.excludePackages = properties.getExcludePackages();
+        this.includeAnnotations = properties.getIncludeAnnotations().stream()
+                .<Class<? extends Annotation>>map(name -> (Class<? extends Annotation>) ClassUtils.resolveClassName(name, getClass().getClassLoader()))
+                .toList();
+        this.includeMethodPatterns = properties.getIncludeMethodPatterns().toArray(String[]::new);
+        this.excludeMethodPatterns = properties.getExcludeMethodPatterns().toArray(String[]::new);
+        setClassFilter(this::matchesClass);
+    }
+
+    private boolean matchesClass(Class<?> clazz) {
+        Class<?> userClass = ClassUtils.getUserClass(clazz);
+        String packageName = userClass.getPackageName();
+        if (startsWithAny(packageName, excludePackages) || !startsWithAny(packageName, includePackages)) {
+            return false;
+        }
+        if (includeAnnotations.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends Annotation> annotation : includeAnnotations) {
+            if (AnnotatedElementUtils.hasAnnotation(userClass, annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+        if (ReflectionUtils.isObjectMethod(method)) {
+            return false;
+        }
+        String methodName = method.getName();
+        String qualifiedName = ClassUtils.getUserClass(targetClass).getSimpleName() + "." + methodName;
+        if (matchesAny(excludeMethodPatterns, methodName, qualifiedName)) {
+            return false;
+        }
+        return includeMethodPatterns.length == 0 || matchesAny(includeMethodPatterns, methodName, qualifiedName);
+    }
+
+    private static boolean matchesAny(String[] patterns, String methodName, String qualifiedName) {
+        for (String pattern : patterns) {
+            String candidate = pattern.indexOf('.') >= 0 ? qualifiedName : methodName;
+            if (PatternMatchUtils.simpleMatch(pattern, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAny(String packageName, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (packageName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package hello.itemservice.debug.trace.profile;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 호출 트리 노드 하나의 집계 (JSON 내보내기용). 자식은 totalMs 내림차순
+ * selfMs = totalMs - 자식 totalMs 합 (트레이스 대상이 아닌 코드에서 쓴 시간)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CallTreeNode {
+    private final String name;
+    private final long calls;
+    private final long errors;
+    private final double totalMs;
+    private final double selfMs;
+    private final List<CallTreeNode> children;
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.debug.trace.profile;
+
+import java.time.Instant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 한 집계 구간의 호출 트리. 진행 중인 구간이면 windowEnd 는 null
+ * truncated 면 max-nodes 를 넘어 일부 경로가 "(other)" 노드로 합쳐졌다는 뜻
+ */
+@Getter
+@RequiredArgsConstructor
+public class CallTreeProfile {
+    private final Instant windowStart;
+    private final Instant windowEnd;
+    private final int nodes;
+    private final boolean truncated;
+    private final CallTreeNode root;
+}
@@ -0,0 +1,259 @@
+package hello.itemservice.debug.trace.profile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 트레이스 대상 호출을 호출 경로(Controller -> Service -> Repository)별로 합친 호출 트리 프로파일
+ * 스레드별 스택으로 현재 경로의 노드를 따라 내려가고, 호출이 끝날 때 노드에 호출 수/전체 시간/자기 시간을 더한다.
+ * 기록 경로는 ConcurrentHashMap 조회 + LongAdder 뿐이라 락이 없고, LogTrace 샘플링과 무관하게 모든 호출을 센다.
+ *
+ * 메모리: 노드 수가 max-nodes 에 닿으면 새 경로는 부모 아래 "(other)" 하나로 합치고, max-depth 보다 깊은 호출은
+ * 가장 깊은 노드의 자기 시간으로 본다. window 주기마다 새 트리로 교체하고 직전 구간 하나만 남긴다.
+ * 트레이스는 루트 호출이 시작된 구간에 집계된다 (교체 직후 끝나는 호출은 직전 구간에 더해질 수 있음).
+ * 다른 스레드로 넘어간 작업은 그 스레드에서 별도 루트로 집계된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.trace.profile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CallTreeProfiler {
+
+    static final String ROOT = "(all)";
+    static final String OTHER = "(other)";
+
+    private final int maxNodes;
+    private final int maxDepth;
+    private final ThreadLocal<CallStack> stacks = ThreadLocal.withInitial(CallStack::new);
+    private final ScheduledExecutorService rotator;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public CallTreeProfiler(@Value("${custom.trace.profile.window:1m}") Duration window,
+                            @Value("${custom.trace.profile.max-nodes:10000}") int maxNodes,
+                            @Value("${custom.trace.profile.max-depth:64}") int maxDepth) {
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+        this.current = new Window();
+        this.rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trace-profile-rotate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMs = window.toMillis();
+        this.rotator.scheduleAtFixedRate(this::rotate, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 호출 시작. 반환값(깊이)을 같은 스레드의 exit 에 그대로 넘겨야 한다
+     */
+    public int enter(String label) {
+        CallStack stack = stacks.get();
+        int depth = stack.depth;
+        stack.depth = depth + 1;
+        if (depth >= maxDepth) {
+            return depth;
+        }
+        Node parent = depth == 0 ? current.root : stack.nodes[depth - 1];
+        stack.push(depth, parent.child(label, maxNodes), System.nanoTime());
+        return depth;
+    }
+
+    /**
+     * 호출 종료. 중간 프레임의 exit 가 누락됐더라도 depth 기준으로 되감는다
+     */
+    public void exit(int depth, boolean failed) {
+        CallStack stack = stacks.get();
+        stack.depth = depth;
+        if (depth >= maxDepth) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - stack.startNanos[depth];
+        stack.nodes[depth].record(elapsedNanos, elapsedNanos - stack.childNanos[depth], failed);
+        // 교체된 구간의 트리를 스레드가 붙잡고 있지 않도록
+        stack.nodes[depth] = null;
+        if (depth > 0) {
+            stack.childNanos[depth - 1] += elapsedNanos;
+        } else if (Thread.currentThread().isVirtual()) {
+            stacks.remove();
+        }
+    }
+
+    /**
+     * @param previousWindow true 면 직전 구간 (없으면 null)
+     */
+    public CallTreeProfile profile(boolean previousWindow) {
+        Window window = previousWindow ? previous : current;
+        if (window == null) {
+            return null;
+        }
+        return new CallTreeProfile(window.start, window.end, window.nodes.get(),
+                window.truncated, window.root.toTree(true));
+    }
+
+    /**
+     * collapsed-stack(folded) 형식: "A;B;C 자기시간(마이크로초)" 한 줄씩 - flamegraph.pl, speedscope 등에서 읽는다
+     */
+    public String folded(boolean previousWindow) {
+        Window window = previousWindow ? previous : current;
+        StringBuilder sb = new StringBuilder();
+        if (window != null) {
+            for (Node root : window.root.sortedChildren()) {
+                root.appendFolded(new StringBuilder(), sb);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 현재 구간을 닫고 새 구간 시작
+     */
+    public void rotate() {
+        Window closed = current;
+        current = new Window();
+        closed.end = current.start;
+        previous = closed;
+    }
+
+    public void reset() {
+        current = new Window();
+        previous = null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rotator.shutdownNow();
+    }
+
+    private static final class Window {
+        final Instant start = Instant.now();
+        volatile Instant end;
+        final AtomicInteger nodes = new AtomicInteger();
+        volatile boolean truncated;
+        final Node root = new Node(ROOT, this);
+    }
+
+    private static final class Node {
+        final String label;
+        final Window window;
+        final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<>();
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder selfNanos = new LongAdder();
+
+        Node(String label, Window window) {
+            this.label = label;
+            this.window = window;
+        }
+
+        Node child(String childLabel, int maxNodes) {
+            Node child = children.get(childLabel);
+            if (child != null) {
+                return child;
+            }
+            if (window.nodes.get() >= maxNodes) {
+                // 예산 초과 - 부모마다 하나뿐인 (other) 로 합친다 (노드 수는 최대 부모 수만큼만 더 는다)
+                window.truncated = true;
+                return children.computeIfAbsent(OTHER, name -> new Node(name, window));
+            }
+            return children.computeIfAbsent(childLabel, name -> {
+                window.nodes.incrementAndGet();
+                return new Node(name, window);
+            });
+        }
+
+        void record(long elapsedNanos, long selfElapsedNanos, boolean failed) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            selfNanos.add(selfElapsedNanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        List<Node> sortedChildren() {
+            Map<String, Node> sorted = new TreeMap<>(children);
+            return new ArrayList<>(sorted.values());
+        }
+
+        CallTreeNode toTree(boolean root) {
+            List<CallTreeNode> childTrees = new ArrayList<>(children.size());
+            long childTotal = 0;
+            for (Node child : children.values()) {
+                CallTreeNode tree = child.toTree(false);
+                childTrees.add(tree);
+                childTotal += child.totalNanos.sum();
+            }
+            childTrees.sort(Comparator.comparingDouble(CallTreeNode::getTotalMs).reversed());
+            if (root) {
+                // 루트는 기록되지 않으므로 최상위 호출들의 합으로 보여준다
+                long rootCalls = childTrees.stream().mapToLong(CallTreeNode::getCalls).sum();
+                long rootErrors = childTrees.stream().mapToLong(CallTreeNode::getErrors).sum();
+                return new CallTreeNode(label, rootCalls, rootErrors, millis(childTotal), 0.0, childTrees);
+            }
+            return new CallTreeNode(label, calls.sum(), errors.sum(), millis(totalNanos.sum()),
+                    millis(selfNanos.sum()), childTrees);
+        }
+
+        void appendFolded(StringBuilder path, StringBuilder out) {
+            int mark = path.length();
+            if (mark > 0) {
+                path.append(';');
+            }
+            // folded 형식의 구분자(';', 공백)는 라벨에 쓸 수 없다
+            path.append(label.replace(';', ':').replace(' ', '_'));
+            long selfMicros = selfNanos.sum() / 1_000;
+            if (selfMicros > 0) {
+                out.append(path).append(' ').append(selfMicros).append('\n');
+            }
+            for (Node child : sortedChildren()) {
+                child.appendFolded(path, out);
+            }
+            path.setLength(mark);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 스레드별 현재 호출 경로 (깊이별 노드, 시작 시각, 자식 호출에 쓴 시간)
+     */
+    private static final class CallStack {
+        Node[] nodes = new Node[16];
+        long[] startNanos = new long[16];
+        long[] childNanos = new long[16];
+        int depth;
+
+        void push(int level, Node node, long nowNanos) {
+            if (level >= nodes.length) {
+                int capacity = Math.max(level + 1, nodes.length * 2);
+                nodes = Arrays.copyOf(nodes, capacity);
+                startNanos = Arrays.copyOf(startNanos, capacity);
+                childNanos = Arrays.copyOf(childNanos, capacity);
+            }
+            nodes[level] = node;
+            startNanos[level] = nowNanos;
+            childNanos[level] = 0;
+        }
+    }
+}
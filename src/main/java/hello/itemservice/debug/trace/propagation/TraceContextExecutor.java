@@ -0,0 +1,26 @@
+package hello.itemservice.debug.trace.propagation;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.NonNull;
+
+import hello.itemservice.debug.trace.LogTrace;
+
+/**
+ * 제출 시점의 트레이스 위치를 실행 스레드로 넘겨주는 Executor 데코레이터
+ */
+public class TraceContextExecutor implements Executor {
+
+    private final Executor delegate;
+    private final LogTrace logTrace;
+
+    public TraceContextExecutor(Executor delegate, LogTrace logTrace) {
+        this.delegate = delegate;
+        this.logTrace = logTrace;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        delegate.execute(TraceContextPropagation.wrap(logTrace, command));
+    }
+}
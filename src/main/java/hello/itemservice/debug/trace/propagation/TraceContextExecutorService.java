@@ -0,0 +1,98 @@
+package hello.itemservice.debug.trace.propagation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.lang.NonNull;
+
+import hello.itemservice.debug.trace.LogTrace;
+
+/**
+ * 제출 시점의 트레이스 위치를 실행 스레드로 넘겨주는 ExecutorService 데코레이터
+ * 병렬로 나눈 하위 작업도 요청과 같은 트레이스 id, 올바른 들여쓰기 레벨로 기록된다.
+ */
+public class TraceContextExecutorService implements ExecutorService {
+
+    private final ExecutorService delegate;
+    private final LogTrace logTrace;
+
+    public TraceContextExecutorService(ExecutorService delegate, LogTrace logTrace) {
+        this.delegate = delegate;
+        this.logTrace = logTrace;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        delegate.execute(TraceContextPropagation.wrap(logTrace, command));
+    }
+
+    @Override
+    public @NonNull <T> Future<T> submit(@NonNull Callable<T> task) {
+        return delegate.submit(TraceContextPropagation.wrap(logTrace, task));
+    }
+
+    @Override
+    public @NonNull <T> Future<T> submit(@NonNull Runnable task, T result) {
+        return delegate.submit(TraceContextPropagation.wrap(logTrace, task), result);
+    }
+
+    @Override
+    public @NonNull Future<?> submit(@NonNull Runnable task) {
+        return delegate.submit(TraceContextPropagation.wrap(logTrace, task));
+    }
+
+    @Override
+    public @NonNull <T> List<Future<T>> invokeAll(@NonNull Collection<? extends Callable<T>> tasks)
+            throws InterruptedException {
+        return delegate.invokeAll(TraceContextPropagation.wrapAll(logTrace, tasks));
+    }
+
+    @Override
+    public @NonNull <T> List<Future<T>> invokeAll(@NonNull Collection<? extends Callable<T>> tasks,
+                                                  long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.invokeAll(TraceContextPropagation.wrapAll(logTrace, tasks), timeout, unit);
+    }
+
+    @Override
+    public @NonNull <T> T invokeAny(@NonNull Collection<? extends Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        return delegate.invokeAny(TraceContextPropagation.wrapAll(logTrace, tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(@NonNull Collection<? extends Callable<T>> tasks, long timeout, @NonNull TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return delegate.invokeAny(TraceContextPropagation.wrapAll(logTrace, tasks), timeout, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public @NonNull List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.debug.trace.propagation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import hello.itemservice.debug.trace.LogTrace;
+import hello.itemservice.debug.trace.TraceScope;
+import hello.itemservice.debug.trace.traceStatus.TraceSnapshot;
+
+/**
+ * 작업을 제출하는 스레드의 트레이스 위치를 캡처해 두었다가, 작업을 실행하는 스레드에서 이어받도록 감싸는 유틸
+ * 진행 중인 트레이스가 없으면 원래 작업을 그대로 돌려준다.
+ */
+public final class TraceContextPropagation {
+
+    private TraceContextPropagation() {
+    }
+
+    public static Runnable wrap(LogTrace logTrace, Runnable task) {
+        TraceSnapshot parent = logTrace.capture();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (TraceScope ignored = logTrace.restore(parent)) {
+                task.run();
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(LogTrace logTrace, Callable<T> task) {
+        TraceSnapshot parent = logTrace.capture();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (TraceScope ignored = logTrace.restore(parent)) {
+                return task.call();
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrap(LogTrace logTrace, Supplier<T> task) {
+        TraceSnapshot parent = logTrace.capture();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (TraceScope ignored = logTrace.restore(parent)) {
+                return task.get();
+            }
+        };
+    }
+
+    public static <T> List<Callable<T>> wrapAll(LogTrace logTrace, Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            wrapped.add(wrap(logTrace, task));
+        }
+        return wrapped;
+    }
+}
@@ -0,0 +1,24 @@
+package hello.itemservice.debug.trace.propagation;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+import hello.itemservice.debug.trace.LogTrace;
+
+/**
+ * 스프링이 관리하는 TaskExecutor 에 적용되는 데코레이터
+ * Spring Boot 가 TaskDecorator 빈을 자동 구성된 executor(플랫폼/가상 스레드 모두)에 연결한다.
+ */
+public class TraceTaskDecorator implements TaskDecorator {
+
+    private final LogTrace logTrace;
+
+    public TraceTaskDecorator(LogTrace logTrace) {
+        this.logTrace = logTrace;
+    }
+
+    @Override
+    public @NonNull Runnable decorate(@NonNull Runnable runnable) {
+        return TraceContextPropagation.wrap(logTrace, runnable);
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.debug.trace.propagation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import hello.itemservice.debug.trace.LogTrace;
+
+/**
+ * 트레이스 위치를 이어받는 CompletableFuture 생성 도우미
+ * executor 를 반드시 받는다 (공용 ForkJoinPool 에 블로킹 작업을 올리지 않도록)
+ */
+public final class TracedCompletableFutures {
+
+    private TracedCompletableFutures() {
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(LogTrace logTrace, Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(TraceContextPropagation.wrap(logTrace, supplier), executor);
+    }
+
+    public static CompletableFuture<Void> runAsync(LogTrace logTrace, Runnable task, Executor executor) {
+        return CompletableFuture.runAsync(TraceContextPropagation.wrap(logTrace, task), executor);
+    }
+
+    /**
+     * 입력마다 작업을 병렬로 실행하고 입력 순서대로 결과를 모은다
+     */
+    public static <I, T> CompletableFuture<List<T>> fanOut(LogTrace logTrace, List<I> inputs,
+                                                           Function<I, T> work, Executor executor) {
+        List<CompletableFuture<T>> futures = inputs.stream()
+                .map(input -> supplyAsync(logTrace, () -> work.apply(input), executor))
+                .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+}
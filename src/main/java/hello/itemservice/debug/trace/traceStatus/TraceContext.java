@@ -0,0 +1,113 @@
+package hello.itemservice.debug.trace.traceStatus;
+
+import java.util.Arrays;
+
+/**
+ * 스레드별 트레이스 상태 (재사용되는 가변 객체)
+ * TraceId 와 깊이별 TraceStatus 프레임을 들고 있어서 호출마다 새 객체를 만들지 않는다.
+ */
+public final class TraceContext {
+
+    private static final int INITIAL_DEPTH = 8;
+
+    private final TraceId traceId = new TraceId(null, 0);
+    private TraceStatus[] frames = new TraceStatus[INITIAL_DEPTH];
+    // 현재 열려 있는 프레임 수 (다른 스레드에서 이어받은 경우 부모 레벨까지 포함)
+    private int depth;
+    // 이 스레드에서 시작한 첫 프레임의 레벨. 직접 시작한 트레이스는 0, 이어받은 트레이스는 부모 레벨 + 1
+    private int baseDepth;
+    // 샘플링: 현재 트리를 출력 대상으로 골랐는지, tail 모드용 span 버퍼
+    private boolean sampled = true;
+    private TraceSpanBuffer spanBuffer;
+
+    /**
+     * 새 프레임 시작. 열린 프레임이 없으면 새 트레이스 id 를 발급
+     */
+    public TraceStatus push(String message, long startNanos) {
+        int level = depth;
+        if (level == 0) {
+            traceId.renew();
+        }
+        traceId.setLevel(level);
+        if (level >= frames.length) {
+            frames = Arrays.copyOf(frames, Math.max(level + 1, frames.length * 2));
+        }
+        TraceStatus frame = frames[level];
+        if (frame == null) {
+            frame = new TraceStatus();
+            frames[level] = frame;
+        }
+        frame.reset(traceId, level, startNanos, message);
+        depth = level + 1;
+        return frame;
+    }
+
+    /**
+     * 프레임 종료. 중간 프레임의 종료가 누락됐더라도 status 의 레벨 기준으로 되감는다.
+     * @return 이 스레드에서의 트레이스가 끝났으면 (로컬 루트 프레임 종료) true
+     */
+    public boolean pop(TraceStatus status) {
+        depth = status.getLevel();
+        if (depth > 0) {
+            traceId.setLevel(depth - 1);
+        }
+        return depth <= baseDepth;
+    }
+
+    /**
+     * 이 스레드에서 시작한 첫 프레임인지 (직접 시작한 트레이스면 레벨 0)
+     */
+    public boolean isLocalRoot(TraceStatus status) {
+        return status.getLevel() == baseDepth;
+    }
+
+    public boolean isActive() {
+        return depth > 0;
+    }
+
+    public boolean isAttached() {
+        return baseDepth > 0;
+    }
+
+    /**
+     * 현재 위치 스냅샷. 진행 중인 트레이스가 없으면 null
+     */
+    public TraceSnapshot capture() {
+        if (depth == 0) {
+            return null;
+        }
+        return new TraceSnapshot(traceId.getId(), depth - 1, sampled);
+    }
+
+    /**
+     * 다른 스레드에서 만든 스냅샷을 이어받음. 다음 프레임이 부모 레벨 + 1 로 시작한다
+     */
+    public void attach(TraceSnapshot parent) {
+        traceId.continueWith(parent.getTraceId(), parent.getLevel());
+        depth = parent.getLevel() + 1;
+        baseDepth = depth;
+        sampled = parent.isSampled();
+    }
+
+    public void detach() {
+        depth = 0;
+        baseDepth = 0;
+        sampled = true;
+        traceId.setLevel(0);
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public void setSampled(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    public TraceSpanBuffer spanBuffer(int maxSpans) {
+        if (spanBuffer == null) {
+            spanBuffer = new TraceSpanBuffer(maxSpans);
+        }
+        return spanBuffer;
+    }
+}
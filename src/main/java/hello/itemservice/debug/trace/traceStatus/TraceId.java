@@ -1,30 +1,58 @@
 package hello.itemservice.debug.trace.traceStatus;
 
 
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
+/**
+ * 트레이스 id 와 현재 깊이
+ * 스레드마다 하나를 만들어 두고 레벨이 바뀔 때마다 새로 만들지 않고 값만 바꿔서 재사용한다.
+ */
 @Getter
 public class TraceId {
-    private final String id;
-    private final int level;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private String id;
+    private int level;
+
     public TraceId() {
+        this(createId(), 0);
+    }
+
+    public TraceId(String id, int level) {
+        this.id = id;
+        this.level = level;
+    }
+
+    /**
+     * 보안용 난수가 필요 없으므로 SecureRandom(UUID) 대신 ThreadLocalRandom 32bit 를 16진수 8자리로
+     */
+    static String createId() {
+        int value = ThreadLocalRandom.current().nextInt();
+        char[] chars = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            chars[i] = HEX[value & 0xF];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    void renew() {
         this.id = createId();
         this.level = 0;
     }
-    private String createId() {
-        return UUID.randomUUID().toString().substring(0, 8);
-    }
-    public TraceId createNextId() {
-        return new TraceId(id, level + 1);
+
+    void continueWith(String id, int level) {
+        this.id = id;
+        this.level = level;
     }
-    public TraceId createPreviousId() {
-        return new TraceId(id, level - 1);
+
+    void setLevel(int level) {
+        this.level = level;
     }
+
     public boolean isFirstLevel() {
         return level == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package hello.itemservice.debug.trace.traceStatus;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 다른 스레드로 넘겨줄 트레이스 위치 (불변)
+ * traceId 와 부모 프레임의 레벨, head 샘플링 결과를 담는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TraceSnapshot {
+    private final String traceId;
+    private final int level;
+    private final boolean sampled;
+}
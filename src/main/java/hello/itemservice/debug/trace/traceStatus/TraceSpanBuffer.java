@@ -0,0 +1,97 @@
+package hello.itemservice.debug.trace.traceStatus;
+
+import java.util.Arrays;
+
+/**
+ * tail 샘플링용 요청 단위 span 버퍼
+ * 시작/종료 이벤트를 병렬 배열에 쌓아 두고, 루트 종료 시 출력하거나 버린다.
+ * 용량(maxSpans)을 넘는 이벤트는 버리고 개수만 센다. 마지막 한 칸은 루트 종료 이벤트(addRootComplete) 몫으로 남겨 둔다.
+ * 루트는 레벨로 판단하지 않는다 - 전파받은 컨텍스트에서는 부모 위치를 이어받아 루트 레벨이 0 이 아니다.
+ * 짧게 살다 사라지는 가상 스레드에서도 부담이 없도록 작게 시작해서 필요할 때만 maxSpans 까지 늘린다.
+ */
+public final class TraceSpanBuffer {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final int maxSpans;
+    private boolean[] begins;
+    private int[] levels;
+    private String[] messages;
+    private long[] elapsedNanos;
+    private Exception[] exceptions;
+    private int size;
+    private int dropped;
+
+    public TraceSpanBuffer(int maxSpans) {
+        this.maxSpans = maxSpans;
+        int capacity = Math.min(INITIAL_CAPACITY, maxSpans);
+        this.begins = new boolean[capacity];
+        this.levels = new int[capacity];
+        this.messages = new String[capacity];
+        this.elapsedNanos = new long[capacity];
+        this.exceptions = new Exception[capacity];
+    }
+
+    public void addBegin(int level, String message) {
+        add(true, level, message, 0, null, false);
+    }
+
+    public void addComplete(int level, String message, long elapsed, Exception e) {
+        add(false, level, message, elapsed, e, false);
+    }
+
+    /**
+     * 이 버퍼를 출력하게 될 루트 프레임의 종료. 남겨 둔 마지막 칸을 쓸 수 있다
+     */
+    public void addRootComplete(int level, String message, long elapsed, Exception e) {
+        add(false, level, message, elapsed, e, true);
+    }
+
+    private void add(boolean begin, int level, String message, long elapsed, Exception e, boolean rootComplete) {
+        if (size >= maxSpans - (rootComplete ? 0 : 1)) {
+            dropped++;
+            return;
+        }
+        if (size == begins.length) {
+            grow();
+        }
+        begins[size] = begin;
+        levels[size] = level;
+        messages[size] = message;
+        elapsedNanos[size] = elapsed;
+        exceptions[size] = e;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = Math.min(maxSpans, begins.length * 2);
+        begins = Arrays.copyOf(begins, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        messages = Arrays.copyOf(messages, capacity);
+        elapsedNanos = Arrays.copyOf(elapsedNanos, capacity);
+        exceptions = Arrays.copyOf(exceptions, capacity);
+    }
+
+    public void replay(SpanVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(begins[i], levels[i], messages[i], elapsedNanos[i], exceptions[i]);
+        }
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            messages[i] = null;
+            exceptions[i] = null;
+        }
+        size = 0;
+        dropped = 0;
+    }
+
+    public interface SpanVisitor {
+        void visit(boolean begin, int level, String message, long elapsedNanos, Exception e);
+    }
+}
@@ -1,13 +1,22 @@
 package hello.itemservice.debug.trace.traceStatus;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
+/**
+ * 호출 한 건(프레임)의 트레이스 상태
+ * TraceContext 가 깊이별로 하나씩 만들어 두고 재사용하므로 end/exception 이후에는 보관하면 안 된다.
+ */
 @Getter
 public class TraceStatus {
-    private final TraceId traceId;
-    private final Long startTimeMs;
-    private final String message;
-    
-}
\ No newline at end of file
+    private TraceId traceId;
+    private int level;
+    private long startNanos;
+    private String message;
+
+    void reset(TraceId traceId, int level, long startNanos, String message) {
+        this.traceId = traceId;
+        this.level = level;
+        this.startNanos = startNanos;
+        this.message = message;
+    }
+}
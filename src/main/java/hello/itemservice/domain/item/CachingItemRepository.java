@@ -0,0 +1,148 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import hello.itemservice.connection.ReplicaRoutingDataSource;
+
+/**
+ * ItemRepository 읽기 캐시 데코레이터
+ * 원본 데이터는 항상 jdbcTemplateItemRepository 이고, 이 클래스는 findById 결과만 캐시한다.
+ * custom.item.cache.enabled=true 일 때만 등록되며 @Primary 로 ItemService 에 주입된다.
+ * 복제본에서 읽은 값은 복제 지연만큼 오래됐을 수 있으므로 캐시에 넣지 않는다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "custom.item.cache", name = "enabled", havingValue = "true")
+public class CachingItemRepository implements ItemRepository {
+
+    private final ItemRepository delegate;
+    private final ItemCache cache;
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+
+    // trace 프로필에서는 원본 빈이 인터페이스 기반 프록시가 되므로 구체 타입이 아닌 이름으로 주입
+    public CachingItemRepository(@Qualifier("jdbcTemplateItemRepository") ItemRepository delegate,
+                                 ItemCache cache,
+                                 ObjectProvider<ReplicaRoutingDataSource> routingDataSource) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Item save(Item item) {
+        Item saved = delegate.save(item);
+        cache.put(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        // 대량 적재 건으로 핫 아이템이 밀려나지 않도록 캐시에는 넣지 않음
+        return delegate.saveAll(items);
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        Optional<Item> cached = cache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        // 읽는 동안 무효화가 끼어들면 읽은 값은 넣지 않음
+        long generation = cache.generation(id);
+        Optional<Item> found = delegate.findById(id);
+        // 없는 id 는 캐시하지 않음 (이후 save 로 생길 수 있으므로)
+        if (found.isPresent() && !readsFromReplica()) {
+            cache.putIfCurrent(found.get(), generation);
+        }
+        return found;
+    }
+
+    @Override
+    public List<Item> findAllByIds(Collection<Long> ids) {
+        List<Item> result = new ArrayList<>(ids.size());
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            cache.get(id).ifPresentOrElse(result::add, () -> misses.add(id));
+        }
+        if (!misses.isEmpty()) {
+            Map<Long, Long> generations = new HashMap<>();
+            misses.forEach(id -> generations.put(id, cache.generation(id)));
+            boolean cacheable = !readsFromReplica();
+            for (Item item : delegate.findAllByIds(misses)) {
+                if (cacheable) {
+                    cache.putIfCurrent(item, generations.get(item.getId()));
+                }
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private boolean readsFromReplica() {
+        ReplicaRoutingDataSource routing = routingDataSource.getIfAvailable();
+        return routing != null && routing.routesToReplica();
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Item> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public long update(Long itemId, Item updateParam) {
+        // 실패하더라도 오래된 값이 남지 않도록 DB 반영 전후로 무효화
+        cache.invalidate(itemId);
+        try {
+            return delegate.update(itemId, updateParam);
+        } finally {
+            cache.invalidate(itemId);
+        }
+    }
+
+    @Override
+    public Optional<Item> adjustQuantity(Long itemId, int delta) {
+        // 동시 조정 결과가 순서 없이 put 되면 오래된 수량이 남을 수 있으므로 넣지 않고 무효화만
+        try {
+            return delegate.adjustQuantity(itemId, delta);
+        } finally {
+            cache.invalidate(itemId);
+        }
+    }
+
+    @Override
+    public List<Long> applyQuantityDeltas(Map<Long, Integer> deltas) {
+        try {
+            return delegate.applyQuantityDeltas(deltas);
+        } finally {
+            deltas.keySet().forEach(cache::invalidate);
+        }
+    }
+
+    @Override
+    public void clearStore() {
+        delegate.clearStore();
+        cache.invalidateAll();
+    }
+}
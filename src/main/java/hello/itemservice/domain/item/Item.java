@@ -9,6 +9,8 @@ public class Item{
     private String itemName;
     private Integer price;
     private Integer quantity;
+    // 낙관적 잠금 버전. 수정/재고 조정마다 1 증가 (새로 만든 객체는 null)
+    private Long version;
 
     
     public Item(String itemName, Integer price, Integer quantity){
@@ -17,4 +19,14 @@ public class Item{
         this.quantity=quantity;
     }
 
+    /**
+     * 캐시 등에서 공유 인스턴스가 외부에서 변경되지 않도록 사용하는 복사본
+     */
+    public Item copy() {
+        Item copy = new Item(itemName, price, quantity);
+        copy.setId(id);
+        copy.setVersion(version);
+        return copy;
+    }
+
 }
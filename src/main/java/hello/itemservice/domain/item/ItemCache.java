@@ -0,0 +1,92 @@
+package hello.itemservice.domain.item;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 아이템 단건 조회용 인메모리 캐시 (크기 + TTL 제한)
+ * 저장되는 값과 꺼내가는 값은 모두 복사본이라 호출자가 수정해도 캐시는 오염되지 않음
+ * 무효화마다 id 별(스트라이프) 세대를 올려서, 무효화 전에 읽은 값이 뒤늦게 put 되는 것을 막는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.item.cache", name = "enabled", havingValue = "true")
+public class ItemCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, Item> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ItemCache(@Value("${custom.item.cache.max-size:10000}") long maxSize,
+                     @Value("${custom.item.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Item> get(Long itemId) {
+        Item cached = cache.getIfPresent(itemId);
+        return cached == null ? Optional.empty() : Optional.of(cached.copy());
+    }
+
+    public void put(Item item) {
+        cache.put(item.getId(), item.copy());
+    }
+
+    /**
+     * 원본을 읽기 전에 잡아 두는 세대 값 (putIfCurrent 에 넘긴다)
+     */
+    public long generation(Long itemId) {
+        return generations.get(stripe(itemId));
+    }
+
+    /**
+     * 읽기 시작 이후 무효화가 없었을 때만 넣는다.
+     * put 과 무효화가 엇갈려도 넣은 뒤 세대를 다시 보고 바뀌었으면 지우므로 오래된 값이 남지 않는다.
+     */
+    public void putIfCurrent(Item item, long generation) {
+        int stripe = stripe(item.getId());
+        if (generations.get(stripe) != generation) {
+            return;
+        }
+        cache.put(item.getId(), item.copy());
+        if (generations.get(stripe) != generation) {
+            cache.invalidate(item.getId());
+        }
+    }
+
+    public void invalidate(Long itemId) {
+        generations.incrementAndGet(stripe(itemId));
+        cache.invalidate(itemId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(Long itemId) {
+        return Long.hashCode(itemId) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -1,15 +1,57 @@
 package hello.itemservice.domain.item;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface  ItemRepository {
 
 
     public Item save(Item item);
 
+    /**
+     * JDBC 배치로 일괄 저장. 각 item 에 생성된 id 를 채워서 그대로 반환
+     */
+    public List<Item> saveAll(List<Item> items);
+
     public Optional<Item> findById(Long id);
+
+    /**
+     * 여러 id 를 IN 쿼리로 한 번에 조회. 없는 id 는 결과에서 빠지고 순서는 보장하지 않음
+     */
+    public List<Item> findAllByIds(Collection<Long> ids);
+
     public List<Item>findAll();
-    public void update(Long itemId,Item updateParam);
+
+    /**
+     * id 기준 키셋 페이지 조회 (afterId 보다 큰 id 를 오름차순으로 최대 limit 개)
+     */
+    public List<Item> findPage(Long afterId, int limit);
+
+    /**
+     * 전체 아이템을 List 로 모으지 않고 읽히는 대로 한 건씩 consumer 에 전달 (id 오름차순)
+     */
+    public void streamAll(Consumer<Item> consumer);
+    /**
+     * 이름/가격/수량 전체 수정. updateParam 에 version 이 있으면 같은 버전일 때만 반영하고
+     * 그 사이 다른 수정이 있었으면 OptimisticLockingFailureException
+     * @return 수정 후 version
+     * @throws org.springframework.dao.EmptyResultDataAccessException 없는 id
+     */
+    public long update(Long itemId,Item updateParam);
+
+    /**
+     * 수량을 delta 만큼 원자적으로 더함 (DB 한 문장, 결과가 음수가 되면 반영하지 않음)
+     * @return 반영 후 아이템. 없는 id 이거나 재고가 부족하면 empty
+     */
+    public Optional<Item> adjustQuantity(Long itemId, int delta);
+
+    /**
+     * 상품별로 합친 수량 증감을 JDBC 배치로 반영 (상품당 조건부 UPDATE 한 문장)
+     * @return 결과가 음수가 되거나 없는 상품이라 반영하지 않은 id 목록
+     */
+    public List<Long> applyQuantityDeltas(Map<Long, Integer> deltas);
     public void clearStore();
 
 }
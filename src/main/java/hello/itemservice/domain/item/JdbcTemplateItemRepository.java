@@ -1,13 +1,28 @@
 package hello.itemservice.domain.item;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository; // Optional 반환을 위해 사용
@@ -15,15 +30,28 @@ import org.springframework.stereotype.Repository; // Optional 반환을 위해 
 @Repository
 public class JdbcTemplateItemRepository implements ItemRepository {
 
+    // IN (...) 한 번에 넣는 최대 id 수 (2의 거듭제곱). 1, 2, 4, ... 256 의 9가지 모양만 만들어져 prepared statement 캐시에 남는다
+    static final int MAX_IN_LIST = 256;
+    private static final String[] IN_LIST_SQL = new String[Integer.numberOfTrailingZeros(MAX_IN_LIST) + 1];
+
+    private final DataSource dataSource;
     private final JdbcTemplate template;
+    private final int batchChunkSize;
+    private final int streamFetchSize;
 
-    public JdbcTemplateItemRepository(DataSource dataSource) {
+    public JdbcTemplateItemRepository(DataSource dataSource,
+                                      @Value("${custom.item.batch.chunk-size:500}") int batchChunkSize,
+                                      @Value("${custom.item.stream.fetch-size:1000}") int streamFetchSize) {
+        this.dataSource = dataSource;
         // DataSource만 주입받으면 JdbcTemplate이 자동으로 생성됨
         this.template = new JdbcTemplate(dataSource); 
+        this.batchChunkSize = batchChunkSize;
+        this.streamFetchSize = streamFetchSize;
     }
 
     // ResultSet의 결과를 Item 객체로 매핑하는 RowMapper 정의
-    private RowMapper<Item> itemRowMapper() {
+    // (매핑 비용만 따로 측정할 수 있도록 package-private static)
+    static RowMapper<Item> itemRowMapper() {
         return (rs, rowNum) -> {
             Item item = new Item(
                 rs.getString("item_name"),
@@ -31,6 +59,7 @@ public class JdbcTemplateItemRepository implements ItemRepository {
                 rs.getInt("quantity")
             );
             item.setId(rs.getLong("id"));
+            item.setVersion(rs.getLong("version"));
             return item;
         };
     }
@@ -56,41 +85,220 @@ public class JdbcTemplateItemRepository implements ItemRepository {
         }
         
         item.setId(key.longValue());
+        item.setVersion(0L);
         return item;
     }
 
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        String sql = "INSERT INTO item (item_name, price, quantity) VALUES (?, ?, ?)";
+        // chunk 단위로 한 번의 왕복 + 한 번의 커밋
+        for (int from = 0; from < items.size(); from += batchChunkSize) {
+            List<Item> chunk = items.subList(from, Math.min(from + batchChunkSize, items.size()));
+            template.execute((ConnectionCallback<Void>) connection -> {
+                insertChunk(connection, sql, chunk);
+                return null;
+            });
+        }
+        return items;
+    }
+
+    private void insertChunk(Connection connection, String sql, List<Item> chunk) throws SQLException {
+        // 바깥 트랜잭션이 없으면 chunk 하나를 하나의 트랜잭션으로 묶음
+        boolean manageTx = !DataSourceUtils.isConnectionTransactional(connection, dataSource)
+                && connection.getAutoCommit();
+        if (manageTx) {
+            connection.setAutoCommit(false);
+        }
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (Item item : chunk) {
+                ps.setString(1, item.getItemName());
+                ps.setInt(2, item.getPrice());
+                ps.setInt(3, item.getQuantity());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            int index = 0;
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next() && index < chunk.size()) {
+                    Item item = chunk.get(index++);
+                    item.setId(keys.getLong(1));
+                    item.setVersion(0L);
+                }
+            }
+            if (index != chunk.size()) {
+                throw new IllegalStateException("데이터베이스에서 생성된 ID를 획득하지 못했습니다.");
+            }
+            if (manageTx) {
+                connection.commit();
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (manageTx) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (manageTx) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
     @Override
     // ID가 없을 경우를 대비해 Optional을 반환하도록 수정 (권장 방식)
     public Optional<Item> findById(Long id) { 
-        String sql = "SELECT id, item_name, price, quantity FROM item WHERE id = ?";
+        String sql = "SELECT id, item_name, price, quantity, version FROM item WHERE id = ?";
         try {
             // queryForObject는 결과가 1개일 때 사용. 없으면 EmptyResultDataAccessException 발생
             Item item = template.queryForObject(sql, itemRowMapper(), id);
             return Optional.of(item);
-        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
+        } catch (EmptyResultDataAccessException e) {
             // 찾는 데이터가 없을 경우 예외를 잡고 빈 Optional 반환
             return Optional.empty();
         }
     }
 
+    @Override
+    public List<Item> findAllByIds(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Item> result = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + MAX_IN_LIST, distinct.size()));
+            // 나머지 자리는 마지막 id 반복
+            int slots = inListSlots(chunk.size());
+            Object[] args = new Object[slots];
+            for (int i = 0; i < slots; i++) {
+                args[i] = chunk.get(Math.min(i, chunk.size() - 1));
+            }
+            result.addAll(template.query(inListSql(slots), itemRowMapper(), args));
+        }
+        return result;
+    }
+
+    /**
+     * 바인드 변수 개수를 2의 거듭제곱으로 맞춰서 SQL 모양을 몇 개로 고정 (1 ~ MAX_IN_LIST)
+     */
+    static int inListSlots(int ids) {
+        return ids == 1 ? 1 : Integer.highestOneBit(ids - 1) << 1;
+    }
+
+    private static String inListSql(int slots) {
+        int shape = Integer.numberOfTrailingZeros(slots);
+        String sql = IN_LIST_SQL[shape];
+        if (sql == null) {
+            sql = "SELECT id, item_name, price, quantity, version FROM item WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(slots, "?")) + ")";
+            IN_LIST_SQL[shape] = sql;
+        }
+        return sql;
+    }
+
     @Override
     public List<Item> findAll() {
-        String sql = "SELECT id, item_name, price, quantity FROM item";
+        String sql = "SELECT id, item_name, price, quantity, version FROM item";
         // query는 결과가 List일 때 사용
         return template.query(sql, itemRowMapper()); 
     }
 
     @Override
-    public void update(Long itemId, Item updateParam) {
-        String sql = "UPDATE item SET item_name=?, price=?, quantity=? WHERE id=?";
-        template.update(sql, 
-            updateParam.getItemName(), 
-            updateParam.getPrice(), 
-            updateParam.getQuantity(), 
+    public List<Item> findPage(Long afterId, int limit) {
+        // OFFSET 대신 PK 인덱스를 타고 바로 시작 위치로 이동 (테이블 크기와 무관하게 일정한 비용)
+        if (afterId == null) {
+            String sql = "SELECT id, item_name, price, quantity, version FROM item ORDER BY id LIMIT ?";
+            return template.query(sql, itemRowMapper(), limit);
+        }
+        String sql = "SELECT id, item_name, price, quantity, version FROM item WHERE id > ? ORDER BY id LIMIT ?";
+        return template.query(sql, itemRowMapper(), afterId, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Item> consumer) {
+        String sql = "SELECT id, item_name, price, quantity, version FROM item ORDER BY id";
+        RowMapper<Item> mapper = itemRowMapper();
+        // forward-only 커서 + fetchSize 만큼씩 서버에서 가져오므로 힙에는 한 번에 fetchSize 행만 남는다
+        template.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapper.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public long update(Long itemId, Item updateParam) {
+        if (updateParam.getVersion() == null) {
+            // 수정 후 version 을 FINAL TABLE 로 같은 왕복에서 받음 (변경 통지 순서 판단용)
+            String sql = "SELECT version FROM FINAL TABLE ("
+                    + "UPDATE item SET item_name=?, price=?, quantity=?, version=version+1 WHERE id=?)";
+            List<Long> updated = template.queryForList(sql, Long.class,
+                updateParam.getItemName(), 
+                updateParam.getPrice(), 
+                updateParam.getQuantity(), 
+                itemId
+            );
+            if (updated.isEmpty()) {
+                throw new EmptyResultDataAccessException("상품 ID를 찾을 수 없습니다: " + itemId, 1);
+            }
+            return updated.get(0);
+        }
+
+        // 없는 id / 버전 충돌을 한 문장으로 구분: 버전이 같을 때만 값을 바꾸고 OLD TABLE 로 수정 전 버전을 받는다
+        // (행이 없으면 없는 id, 수정 전 버전이 다르면 충돌 - 이때는 같은 값으로 덮어쓰므로 바뀌는 것은 없다)
+        String sql = "SELECT version FROM OLD TABLE (UPDATE item SET "
+                + "item_name = CASE WHEN version = ? THEN ? ELSE item_name END, "
+                + "price = CASE WHEN version = ? THEN ? ELSE price END, "
+                + "quantity = CASE WHEN version = ? THEN ? ELSE quantity END, "
+                + "version = CASE WHEN version = ? THEN version + 1 ELSE version END "
+                + "WHERE id = ?)";
+        Long expected = updateParam.getVersion();
+        List<Long> previous = template.queryForList(sql, Long.class,
+            expected, updateParam.getItemName(),
+            expected, updateParam.getPrice(),
+            expected, updateParam.getQuantity(),
+            expected,
             itemId
         );
+        if (previous.isEmpty()) {
+            throw new EmptyResultDataAccessException("상품 ID를 찾을 수 없습니다: " + itemId, 1);
+        }
+        if (!expected.equals(previous.get(0))) {
+            throw new OptimisticLockingFailureException(
+                "다른 요청이 먼저 수정했습니다. itemId=" + itemId + ", version=" + expected);
+        }
+        return expected + 1;
+    }
+
+    @Override
+    public Optional<Item> adjustQuantity(Long itemId, int delta) {
+        // 조건부 UPDATE 한 문장으로 읽기-수정-쓰기 경합 없이 반영하고, H2 FINAL TABLE 로 반영 후 행을 같은 왕복에서 받음
+        String sql = "SELECT id, item_name, price, quantity, version FROM FINAL TABLE ("
+                + "UPDATE item SET quantity = quantity + ?, version = version + 1 "
+                + "WHERE id = ? AND quantity + ? >= 0)";
+        List<Item> updated = template.query(sql, itemRowMapper(), delta, itemId, delta);
+        return updated.stream().findFirst();
     }
     
+    @Override
+    public List<Long> applyQuantityDeltas(Map<Long, Integer> deltas) {
+        String sql = "UPDATE item SET quantity = quantity + ?, version = version + 1 WHERE id = ? AND quantity + ? >= 0";
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            int delta = deltas.get(id);
+            args.add(new Object[]{delta, id, delta});
+        }
+        int[] counts = template.batchUpdate(sql, args);
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(ids.get(i));
+            }
+        }
+        return rejected;
+    }
+
     @Override
     public void clearStore() {
         String sql = "TRUNCATE TABLE item";
@@ -0,0 +1,99 @@
+package hello.itemservice.seed;
+
+import java.util.SplittableRandom;
+
+import hello.itemservice.domain.item.Item;
+
+/**
+ * 시드 고정 상품 데이터 생성기. 같은 seed 면 항상 같은 순서로 같은 상품을 만든다.
+ * 이름: 브랜드 + 수식어 + 카테고리 + 모델번호. 카테고리는 앞쪽일수록 자주 나오게(Zipf) 뽑는다.
+ * 가격: 로그정규 분포 (중앙값 약 15,000원, 100원 단위, 500 ~ 5,000,000)
+ * 수량: 8% 품절(0), 나머지는 평균 50 의 지수 분포 (최대 10,000)
+ */
+public class ItemDataGenerator {
+
+    private static final String[] BRANDS = {
+            "Acme", "Nova", "Orion", "Pluto", "Zenith", "Hanil", "Daehan", "Mirae", "Saebom", "Haneul",
+            "Bora", "Sol", "Gaon", "Nuri", "Dami", "Ieum"
+    };
+    private static final String[] ADJECTIVES = {
+            "Basic", "Premium", "Compact", "Classic", "Light", "Pro", "Mini", "Eco", "Smart", "Deluxe"
+    };
+    // 앞쪽 카테고리일수록 많이 나온다
+    private static final String[] CATEGORIES = {
+            "T-Shirt", "Mug", "Notebook", "Pen", "Cable", "Charger", "Socks", "Towel", "Bottle", "Bag",
+            "Lamp", "Headphones", "Keyboard", "Mouse", "Chair", "Desk", "Monitor", "Speaker", "Camera", "Watch"
+    };
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final double[] CATEGORY_CUMULATIVE = zipfCumulative(CATEGORIES.length, ZIPF_EXPONENT);
+
+    private static final double PRICE_MEDIAN = 15_000;
+    private static final double PRICE_SIGMA = 0.9;
+    private static final int MIN_PRICE = 500;
+    private static final int MAX_PRICE = 5_000_000;
+
+    private static final double SOLD_OUT_RATIO = 0.08;
+    private static final double MEAN_QUANTITY = 50;
+    private static final int MAX_QUANTITY = 10_000;
+
+    private final SplittableRandom random;
+
+    public ItemDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public Item next() {
+        return new Item(nextName(), nextPrice(), nextQuantity());
+    }
+
+    String nextName() {
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String category = CATEGORIES[nextCategory()];
+        return brand + " " + adjective + " " + category + " " + (100 + random.nextInt(9900));
+    }
+
+    int nextPrice() {
+        double price = PRICE_MEDIAN * Math.exp(PRICE_SIGMA * nextGaussian());
+        long rounded = Math.round(price / 100) * 100;
+        return (int) Math.max(MIN_PRICE, Math.min(MAX_PRICE, rounded));
+    }
+
+    int nextQuantity() {
+        if (random.nextDouble() < SOLD_OUT_RATIO) {
+            return 0;
+        }
+        double quantity = -Math.log(1.0 - random.nextDouble()) * MEAN_QUANTITY;
+        return (int) Math.min(MAX_QUANTITY, Math.max(1, Math.round(quantity)));
+    }
+
+    private int nextCategory() {
+        double value = random.nextDouble();
+        for (int i = 0; i < CATEGORY_CUMULATIVE.length - 1; i++) {
+            if (value < CATEGORY_CUMULATIVE[i]) {
+                return i;
+            }
+        }
+        return CATEGORY_CUMULATIVE.length - 1;
+    }
+
+    // SplittableRandom 에는 nextGaussian 이 없어 Box-Muller 로 만든다
+    private double nextGaussian() {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.seed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 schema.sql 을 적용하고 ItemDataGenerator 로 상품 N 건을 적재한다 (custom.seed.enabled=true 일 때만)
+ * 이미 데이터가 있으면 건너뛴다 (reset=true 면 비우고 다시 적재). 같은 seed 면 같은 데이터가 들어간다.
+ * 검색 인덱스는 ApplicationReadyEvent 에서 만들어지므로 적재가 끝난 뒤의 데이터로 구성된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "custom.seed", name = "enabled", havingValue = "true")
+public class ItemSeedRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final ItemRepository itemRepository;
+    private final int items;
+    private final long seed;
+    private final boolean reset;
+    private final int chunkSize;
+
+    public ItemSeedRunner(DataSource dataSource,
+                          @Qualifier("jdbcTemplateItemRepository") ItemRepository itemRepository,
+                          @Value("${custom.seed.items:1000000}") int items,
+                          @Value("${custom.seed.seed:42}") long seed,
+                          @Value("${custom.seed.reset:false}") boolean reset,
+                          @Value("${custom.seed.chunk-size:10000}") int chunkSize) {
+        this.dataSource = dataSource;
+        this.itemRepository = itemRepository;
+        this.items = items;
+        this.seed = seed;
+        this.reset = reset;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long existing = jdbcTemplate.queryForObject("select count(*) from item", Long.class);
+        if (existing != null && existing > 0) {
+            if (!reset) {
+                log.info("seed skipped: item table already has {} rows (custom.seed.reset=true 로 다시 적재)", existing);
+                return;
+            }
+            // id 도 1 부터 다시 매겨야 같은 seed 로 같은 데이터가 된다
+            jdbcTemplate.execute("truncate table item restart identity");
+        }
+
+        long startNanos = System.nanoTime();
+        ItemDataGenerator generator = new ItemDataGenerator(seed);
+        List<Item> chunk = new ArrayList<>(Math.min(chunkSize, items));
+        int loaded = 0;
+        // 진행 상황은 대략 10% 마다
+        int logEvery = Math.max(chunkSize, items / 10);
+        int nextLog = logEvery;
+        while (loaded < items) {
+            chunk.add(generator.next());
+            loaded++;
+            if (chunk.size() == chunkSize || loaded == items) {
+                itemRepository.saveAll(chunk);
+                chunk.clear();
+                if (loaded >= nextLog && loaded < items) {
+                    log.info("seeding items {}/{}", loaded, items);
+                    nextLog += logEvery;
+                }
+            }
+        }
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("seeded {} items (seed={}) in {}ms", items, seed, elapsedMs);
+    }
+}
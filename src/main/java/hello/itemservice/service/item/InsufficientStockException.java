@@ -0,0 +1,19 @@
+package hello.itemservice.service.item;
+
+import lombok.Getter;
+
+/**
+ * 재고 차감 결과가 음수가 되어 반영하지 않은 경우
+ */
+@Getter
+public class InsufficientStockException extends IllegalStateException {
+
+    private final Long itemId;
+    private final int requested;
+
+    public InsufficientStockException(Long itemId, int requested) {
+        super("재고가 부족합니다. itemId=" + itemId + ", 요청 수량=" + requested);
+        this.itemId = itemId;
+        this.requested = requested;
+    }
+}
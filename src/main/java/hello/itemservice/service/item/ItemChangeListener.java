@@ -0,0 +1,41 @@
+package hello.itemservice.service.item;
+
+import java.util.List;
+
+import hello.itemservice.domain.item.Item;
+
+/**
+ * ItemService 를 통한 상품 변경 통지 (검색 인덱스 등 파생 데이터 갱신용)
+ * DB 반영이 끝난 뒤 호출 스레드에서 동기적으로 호출된다.
+ * 리스너가 던진 예외는 로그만 남고 호출자나 다른 리스너에게 전파되지 않는다.
+ *
+ * 같은 상품에 대한 통지도 요청 스레드마다 따로 오므로 도착 순서가 DB 반영 순서와 다를 수 있다.
+ * 통지마다 반영 후 행의 version 이 함께 오므로, 리스너는 들고 있는 것보다 작은 version 의 통지는 버리고
+ * 같거나 큰 version 만 적용한다. (write-behind 재고 증감은 DB 에 반영되기 전까지 같은 version 으로,
+ * 상품별로 순서대로 통지된다)
+ */
+public interface ItemChangeListener {
+
+    /**
+     * 새 상품 저장 (id 가 채워진 상태)
+     */
+    void onSaved(Item item);
+
+    /**
+     * 일괄 저장 (CSV 적재 등)
+     */
+    default void onSavedAll(List<Item> items) {
+        items.forEach(this::onSaved);
+    }
+
+    /**
+     * 상품 전체 수정 (updated.id 는 수정 대상 id, updated.version 은 수정 후 version)
+     */
+    void onUpdated(Item updated);
+
+    /**
+     * 재고 증감 후 수량과 그때의 version
+     */
+    default void onQuantityAdjusted(Long itemId, int quantity, long version) {
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.service.item;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import hello.itemservice.domain.item.Item;
+
+/**
+ * 아이템 CSV 한 줄 단위 읽기/쓰기 (RFC 4180 의 따옴표 규칙, 줄바꿈이 포함된 필드는 지원하지 않음)
+ */
+public final class ItemCsv {
+
+    public static final String EXPORT_HEADER = "id,item_name,price,quantity";
+
+    private ItemCsv() {
+    }
+
+    public static void writeRow(Writer out, Item item) throws IOException {
+        out.write(String.valueOf(item.getId()));
+        out.write(',');
+        writeField(out, item.getItemName());
+        out.write(',');
+        out.write(String.valueOf(item.getPrice()));
+        out.write(',');
+        out.write(String.valueOf(item.getQuantity()));
+        out.write('\n');
+    }
+
+    // null 은 빈 필드로 쓴다
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,153 @@
+package hello.itemservice.service.item;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import hello.itemservice.domain.item.Item;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 공급사 CSV(item_name,price,quantity) 스트리밍 적재
+ * 파일 전체를 메모리에 올리지 않고 chunk 단위로 읽어서 saveItems(JDBC 배치)로 넣는다.
+ */
+@Slf4j
+@Service
+public class ItemCsvImportService {
+
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final ItemService itemService;
+    private final int chunkSize;
+
+    public ItemCsvImportService(ItemService itemService,
+                                @Value("${custom.item.batch.chunk-size:500}") int chunkSize) {
+        this.itemService = itemService;
+        this.chunkSize = chunkSize;
+    }
+
+    public ItemImportResult importCsv(InputStream in) throws IOException {
+        long startNanos = System.nanoTime();
+        Progress progress = new Progress();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || (lineNo == 1 && isHeader(line))) {
+                continue;
+            }
+            progress.total++;
+            try {
+                chunk.add(parse(line));
+                chunkLines.add(lineNo);
+            } catch (IllegalArgumentException e) {
+                progress.fail(lineNo, e.getMessage());
+                continue;
+            }
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, chunkLines, progress);
+            }
+        }
+        flush(chunk, chunkLines, progress);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : progress.imported * 1_000_000_000.0 / elapsedNanos;
+        log.info("CSV 적재 완료 total={} imported={} failed={} rows/sec={}",
+                progress.total, progress.imported, progress.failed, Math.round(rowsPerSecond));
+        return new ItemImportResult(progress.total, progress.imported, progress.failed,
+                elapsedNanos / 1_000_000, rowsPerSecond, progress.failures);
+    }
+
+    private void flush(List<Item> chunk, List<Long> chunkLines, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            itemService.saveItems(chunk);
+            progress.imported += chunk.size();
+        } catch (DataAccessException e) {
+            // 배치 전체가 롤백되므로 한 건씩 다시 넣어서 실패한 행만 골라낸다
+            log.warn("배치 저장 실패, 건별 재시도 size={} cause={}", chunk.size(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    itemService.saveItem(chunk.get(i));
+                    progress.imported++;
+                } catch (DataAccessException rowEx) {
+                    progress.fail(chunkLines.get(i), rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    // 헤더 비교용으로 정규화한 컬럼 이름 (id,itemname,price,quantity / itemname,price,quantity)
+    private static final List<String> EXPORT_COLUMNS = columnNames(ItemCsv.EXPORT_HEADER);
+    private static final List<String> IMPORT_COLUMNS = EXPORT_COLUMNS.subList(1, EXPORT_COLUMNS.size());
+
+    /**
+     * 컬럼 이름이 정확히 item_name,price,quantity 이거나 내보내기 헤더인 줄만 헤더로 본다
+     * 대소문자, 앞뒤 공백, 따옴표, '_' 유무와 UTF-8 BOM 은 무시 ("item A",1000,5 같은 데이터 행은 헤더가 아님)
+     */
+    private static boolean isHeader(String line) {
+        try {
+            List<String> names = columnNames(line.startsWith("\uFEFF") ? line.substring(1) : line);
+            return names.equals(IMPORT_COLUMNS) || names.equals(EXPORT_COLUMNS);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static List<String> columnNames(String line) {
+        return ItemCsv.parseLine(line).stream()
+                .map(field -> field.trim().toLowerCase(Locale.ROOT).replace("_", ""))
+                .toList();
+    }
+
+    private static Item parse(String line) {
+        List<String> fields = ItemCsv.parseLine(line);
+        if (fields.size() == 4) {
+            // 내보내기 파일(id,item_name,price,quantity)을 그대로 넣는 경우 id 는 무시
+            fields = fields.subList(1, 4);
+        }
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("컬럼 수가 3개가 아닙니다: " + fields.size());
+        }
+        String itemName = fields.get(0).trim();
+        if (itemName.isEmpty()) {
+            throw new IllegalArgumentException("상품명이 비어 있습니다.");
+        }
+        try {
+            return new Item(itemName, Integer.valueOf(fields.get(1).trim()), Integer.valueOf(fields.get(2).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("가격/수량이 숫자가 아닙니다: " + e.getMessage());
+        }
+    }
+
+    private static class Progress {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<ItemImportResult.FailedRow> failures = new ArrayList<>();
+
+        private void fail(long line, String reason) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new ItemImportResult.FailedRow(line, reason));
+            }
+        }
+    }
+}
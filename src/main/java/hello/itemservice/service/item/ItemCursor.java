@@ -0,0 +1,40 @@
+package hello.itemservice.service.item;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션용 불투명 커서
+ * 마지막으로 내려간 아이템 id 를 base64url 로 감싸서 클라이언트에는 의미 없는 문자열로 노출
+ */
+public final class ItemCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ItemCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    /**
+     * 커서를 마지막 id 로 복원. null/빈 값이면 첫 페이지(null)
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,27 @@
+package hello.itemservice.service.item;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CSV 적재 결과. failures 는 앞에서부터 최대 일부만 담고, 전체 개수는 failedRows 로 확인
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemImportResult {
+    private final long totalRows;
+    private final long importedRows;
+    private final long failedRows;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final List<FailedRow> failures;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class FailedRow {
+        private final long line;
+        private final String reason;
+    }
+}
@@ -0,0 +1,17 @@
+package hello.itemservice.service.item;
+
+import java.util.List;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 여러 id 조회 결과 (요청 순서) + 찾지 못한 id
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemLookupResult {
+    private final List<Item> items;
+    private final List<Long> missingIds;
+}
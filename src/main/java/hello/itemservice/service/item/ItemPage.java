@@ -0,0 +1,23 @@
+package hello.itemservice.service.item;
+
+import java.util.List;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 키셋 페이지 조회 결과
+ * nextCursor 가 null 이면 마지막 페이지
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemPage {
+    private final List<Item> items;
+    private final int size;
+    private final String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,47 +1,301 @@
 package hello.itemservice.service.item;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
 
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
-import lombok.RequiredArgsConstructor;
+import hello.itemservice.service.item.search.ItemSearchCondition;
+import hello.itemservice.service.item.search.ItemSearchIndex;
+import hello.itemservice.service.item.search.ItemSearchResult;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ItemService {
     private final ItemRepository itemRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int stockMaxRetries;
+    private final int maxLookupIds;
+    // write-behind 모드가 아니면 null
+    private final StockWriteBehind stockWriteBehind;
+    // 검색이 꺼져 있으면 null
+    private final ItemSearchIndex searchIndex;
+    private final List<ItemChangeListener> changeListeners;
+    // 같은 id 동시 조회 합치기, 꺼져 있으면 null
+    private final SingleFlight<Long, Optional<Item>> itemLookups;
+
+    public ItemService(ItemRepository itemRepository,
+                       @Value("${custom.item.page.default-size:20}") int defaultPageSize,
+                       @Value("${custom.item.page.max-size:100}") int maxPageSize,
+                       @Value("${custom.item.stock.max-retries:3}") int stockMaxRetries,
+                       @Value("${custom.item.lookup.max-ids:1000}") int maxLookupIds,
+                       @Value("${custom.item.coalescing.enabled:true}") boolean coalescingEnabled,
+                       @Value("${custom.item.coalescing.max-wait-ms:3000}") long coalescingMaxWaitMs,
+                       ObjectProvider<StockWriteBehind> stockWriteBehind,
+                       ObjectProvider<ItemSearchIndex> searchIndex,
+                       ObjectProvider<ItemChangeListener> changeListeners) {
+        this.itemRepository = itemRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.stockMaxRetries = stockMaxRetries;
+        this.maxLookupIds = maxLookupIds;
+        this.stockWriteBehind = stockWriteBehind.getIfAvailable();
+        this.searchIndex = searchIndex.getIfAvailable();
+        this.changeListeners = changeListeners.orderedStream().toList();
+        this.itemLookups = coalescingEnabled
+                ? new SingleFlight<>(Duration.ofMillis(coalescingMaxWaitMs), found -> found.map(Item::copy))
+                : null;
+    }
 
     /**
      * 아이템 저장
      */
     public Item saveItem(Item item){
-        return itemRepository.save(item);
+        Item saved = itemRepository.save(item);
+        notifyListeners(listener -> listener.onSaved(saved));
+        return saved;
     }
 
     /**
-     * ID로 아이템 조회
+     * 아이템 일괄 저장 (JDBC 배치)
      */
+    public List<Item> saveItems(List<Item> items) {
+        List<Item> saved = itemRepository.saveAll(items);
+        notifyListeners(listener -> listener.onSavedAll(saved));
+        return saved;
+    }
+
+    /**
+     * ID로 아이템 조회 (복제본)
+     * 같은 id 를 동시에 조회하면 DB(또는 캐시) 조회는 한 번만 하고 결과/예외를 나눠 받는다
+     */
+    @Transactional(readOnly = true)
     public Item findItem(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(
+        Item item = lookup(itemId).orElseThrow(
+            () -> new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId));
+        return withPendingStock(item);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션일 때만 합친다. 바깥 쓰기 트랜잭션에 참여한 조회는 그 트랜잭션의 변경을 봐야 하므로 직접 조회.
+     * 기다리는 쪽 트랜잭션은 SQL 을 실행하지 않으므로 LazyConnectionDataSourceProxy 가 풀 커넥션을 꺼내지 않는다.
+     */
+    private Optional<Item> lookup(Long itemId) {
+        if (itemLookups == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return itemRepository.findById(itemId);
+        }
+        return itemLookups.execute(itemId, () -> itemRepository.findById(itemId));
+    }
+
+    /**
+     * 동시 조회 합치기 통계 (꺼져 있으면 null)
+     */
+    public SingleFlight.Stats itemLookupStats() {
+        return itemLookups == null ? null : itemLookups.stats();
+    }
+
+    /**
+     * ID로 아이템 조회 (primary)
+     * 방금 저장/수정한 아이템을 보여줄 때 사용 - 복제 지연으로 이전 값이 보이지 않도록
+     */
+    @Transactional
+    public Item findItemFromPrimary(Long itemId) {
+        Item item = itemRepository.findById(itemId).orElseThrow(
             () -> new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId));
+        return withPendingStock(item);
+    }
+
+    /**
+     * write-behind 모드에서 아직 DB 에 반영되지 않은 재고 증감을 적용
+     */
+    private Item withPendingStock(Item item) {
+        if (stockWriteBehind != null) {
+            Integer quantity = stockWriteBehind.pendingQuantity(item.getId());
+            if (quantity != null) {
+                item.setQuantity(quantity);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * 여러 아이템 한 번에 조회 (IN 쿼리 묶음, id 마다 왕복하지 않음)
+     * 결과는 요청 순서(중복 id 는 처음 한 번)를 따르고, 없는 id 는 예외 대신 missingIds 로 알려준다
+     * @throws IllegalArgumentException id 가 maxLookupIds 개를 넘는 경우
+     */
+    @Transactional(readOnly = true)
+    public ItemLookupResult findItemsByIds(Collection<Long> itemIds) {
+        Set<Long> requested = new LinkedHashSet<>(itemIds);
+        requested.remove(null);
+        if (requested.size() > maxLookupIds) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 상품은 최대 " + maxLookupIds + "개입니다: " + requested.size());
+        }
+        Map<Long, Item> found = new HashMap<>();
+        for (Item item : itemRepository.findAllByIds(requested)) {
+            found.put(item.getId(), item);
+        }
+
+        List<Item> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Item item = found.get(id);
+            if (item == null) {
+                missingIds.add(id);
+            } else {
+                items.add(withPendingStock(item));
+            }
+        }
+        return new ItemLookupResult(items, missingIds);
     }
 
     /**
      * 모든 아이템 조회
      */
+    @Transactional(readOnly = true)
     public List<Item> findItems() {
         return itemRepository.findAll();
     }
 
+    /**
+     * 커서 기반 페이지 조회
+     * size 는 [1, maxPageSize] 로 보정, 한 건을 더 읽어서 다음 페이지 존재 여부를 판단
+     */
+    @Transactional(readOnly = true)
+    public ItemPage findItemPage(String cursor, Integer size) {
+        int pageSize = (size == null || size < 1) ? defaultPageSize : Math.min(size, maxPageSize);
+        Long afterId = ItemCursor.decode(cursor);
+
+        List<Item> rows = itemRepository.findPage(afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new ItemPage(rows, pageSize, null);
+        }
+        List<Item> items = rows.subList(0, pageSize);
+        return new ItemPage(items, pageSize, ItemCursor.encode(items.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * 이름(접두사/부분일치) + 가격 범위 검색 (메모리 인덱스, DB 조회 없음)
+     * @throws IllegalStateException 검색이 꺼져 있거나 인덱스 구성 전
+     */
+    public ItemSearchResult searchItems(ItemSearchCondition condition) {
+        if (searchIndex == null) {
+            throw new IllegalStateException("상품 검색이 비활성화되어 있습니다.");
+        }
+        ItemSearchResult result = searchIndex.search(condition);
+        result.getItems().forEach(this::withPendingStock);
+        return result;
+    }
+
+    /**
+     * 전체 아이템 스트리밍 조회 (내보내기용)
+     */
+    @Transactional(readOnly = true)
+    public void exportItems(Consumer<Item> consumer) {
+        itemRepository.streamAll(consumer);
+    }
+
     /**
      * 아이템 수정
+     * updateParam.version 이 있으면 낙관적 잠금 - 그 사이 다른 수정이 있었으면 OptimisticLockingFailureException
+     * @throws NoSuchElementException 없는 상품
      */
     public void updateItem(Long itemId, Item updateParam) {
-        itemRepository.update(itemId, updateParam);
+        try {
+            if (stockWriteBehind != null) {
+                // 통지까지 overwrite 안에서 - 끝나기 전에는 이 상품의 증감 통지가 끼어들지 않음
+                stockWriteBehind.overwrite(itemId, () -> notifyUpdated(itemId, updateParam,
+                        itemRepository.update(itemId, updateParam)));
+            } else {
+                notifyUpdated(itemId, updateParam, itemRepository.update(itemId, updateParam));
+            }
+        } catch (EmptyResultDataAccessException e) {
+            throw new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId, e);
+        }
+    }
+
+    private void notifyUpdated(Long itemId, Item updateParam, long version) {
+        Item updated = updateParam.copy();
+        updated.setId(itemId);
+        updated.setVersion(version);
+        notifyListeners(listener -> listener.onUpdated(updated));
+    }
+
+    /**
+     * 재고 증감 (delta 가 음수면 차감). 결과가 음수가 되는 차감은 반영하지 않는다.
+     * 인기 상품 한 행에 갱신이 몰려 락 대기 시간 초과가 나면 짧게 쉬었다가 재시도
+     * write-behind 모드에서는 메모리에 합쳐 두고 주기적으로 배치 반영 (반환 수량은 대기 중 증감 포함)
+     */
+    public Item adjustStock(Long itemId, int delta) {
+        if (stockWriteBehind != null) {
+            long quantity = stockWriteBehind.adjust(itemId, delta, (adjusted, version) ->
+                    notifyListeners(listener -> listener.onQuantityAdjusted(itemId, (int) adjusted, version)));
+            Item item = itemRepository.findById(itemId).orElseThrow(
+                () -> new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId));
+            item.setQuantity((int) quantity);
+            return item;
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Item item = itemRepository.adjustQuantity(itemId, delta)
+                        .orElseThrow(() -> adjustFailure(itemId, delta));
+                notifyListeners(listener -> listener.onQuantityAdjusted(itemId, item.getQuantity(), item.getVersion()));
+                return item;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= stockMaxRetries) {
+                    throw e;
+                }
+                log.debug("재고 조정 락 경합, 재시도 {}/{} itemId={}", attempt + 1, stockMaxRetries, itemId);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * 변경 통지. DB 반영은 이미 끝났으므로 리스너 하나의 실패가 호출자에게 실패로 보이거나
+     * 다른 리스너를 건너뛰게 하지 않도록 리스너마다 격리해서 로그만 남긴다
+     */
+    private void notifyListeners(Consumer<ItemChangeListener> notification) {
+        for (ItemChangeListener listener : changeListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("상품 변경 통지 실패 listener={}", ClassUtils.getUserClass(listener).getName(), e);
+            }
+        }
+    }
+
+    private RuntimeException adjustFailure(Long itemId, int delta) {
+        if (itemRepository.findById(itemId).isEmpty()) {
+            return new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId);
+        }
+        return new InsufficientStockException(itemId, -delta);
+    }
+
+    // 재시도가 한꺼번에 몰리지 않도록 지수 증가 + 지터 (최대 약 16ms)
+    private static void backoff(int attempt) {
+        long maxMicros = 1000L << Math.min(attempt, 4);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxMicros / 2, maxMicros) * 1000);
     }
 }
@@ -0,0 +1,110 @@
+package hello.itemservice.service.item;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 같은 키의 동시 조회를 하나로 합친다 (single-flight)
+ * 먼저 온 호출(leader)만 loader 를 실행하고, 그동안 같은 키로 들어온 호출은 그 결과/예외를 기다려 함께 받는다.
+ * 기다리는 쪽은 loader 를 실행하지 않으므로 커넥션도 잡지 않는다. 결과를 캐시하지는 않는다 (끝나면 바로 제거).
+ * 함께 받은 결과 객체를 호출자들이 각자 고쳐도 섞이지 않도록, 공유 결과 대신 호출마다 copy 한 것을 돌려준다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copy;
+    private final long maxWaitNanos;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder sharedFailures = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+
+    public SingleFlight(Duration maxWait, UnaryOperator<V> copy) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.copy = copy;
+    }
+
+    /**
+     * @throws QueryTimeoutException 진행 중인 조회를 maxWait 안에 받지 못한 경우 (진행 중인 조회는 계속된다)
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing == null) {
+            return lead(key, mine, loader);
+        }
+        collapsed.increment();
+        return await(key, existing);
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        executions.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value == null ? null : copy.apply(value);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 완료 후 들어온 호출은 새로 조회 (끝난 결과를 재사용하지 않음)
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> flight) {
+        try {
+            V value = flight.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            return value == null ? null : copy.apply(value);
+        } catch (ExecutionException e) {
+            sharedFailures.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            waitTimeouts.increment();
+            throw new QueryTimeoutException("진행 중인 조회를 기다리다 시간이 초과되었습니다: " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("진행 중인 조회를 기다리다 중단되었습니다: " + key, e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("진행 중인 조회가 취소되었습니다: " + key, e);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(executions.sum(), collapsed.sum(), sharedFailures.sum(), waitTimeouts.sum(), inFlight.size());
+    }
+
+    /**
+     * executions: 실제 loader 실행 수, collapsed: 실행 없이 진행 중인 결과를 받은(받으려 한) 호출 수
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Stats {
+        private final long executions;
+        private final long collapsed;
+        private final long sharedFailures;
+        private final long waitTimeouts;
+        private final int inFlight;
+    }
+}
@@ -0,0 +1,369 @@
+package hello.itemservice.service.item;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재고 증감 write-behind (custom.item.stock.write-behind.enabled=true 일 때만)
+ * 증감을 상품별로 메모리에 합쳐 두었다가 flush-interval-ms 주기 또는 max-pending-items 초과 시
+ * 상품당 UPDATE 한 문장씩 JDBC 배치로 반영한다. 인기 상품 한 건에 초당 수천 번 몰리는 증감이
+ * 주기당 한 번의 UPDATE 로 줄어든다.
+ *
+ * 상품별 논리 수량 = base(마지막으로 확인한 DB 값) + inFlight(반영 중) + pending(대기 중)
+ * 음수 검사는 이 논리 수량으로 하고, 반영 시에도 조건부 UPDATE 로 한 번 더 막는다.
+ * 주기 사이에 프로세스가 죽으면 그 구간의 증감은 유실된다 (flush-interval-ms 가 유실 한도).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "custom.item.stock.write-behind", name = "enabled", havingValue = "true")
+public class StockWriteBehind {
+
+    private final ItemRepository itemRepository;
+    private final int maxPendingItems;
+    private final ConcurrentHashMap<Long, StockCell> cells = new ConcurrentHashMap<>();
+    private final AtomicInteger dirtyCells = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    // 끝난 overwrite 수 - 셀 없이 DB 에서 읽은 수량이 그 사이 덮어써졌는지 확인용
+    private final AtomicLong overwrites = new AtomicLong();
+
+    private final LongAdder adjustments = new LongAdder();
+    private final LongAdder flushedUpdates = new LongAdder();
+    private final LongAdder rejectedDeltas = new LongAdder();
+    private final LongAdder rejectedUnits = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public StockWriteBehind(ItemRepository itemRepository,
+                            @Value("${custom.item.stock.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+                            @Value("${custom.item.stock.write-behind.max-pending-items:500}") int maxPendingItems) {
+        this.itemRepository = itemRepository;
+        this.maxPendingItems = maxPendingItems;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 증감을 메모리에 반영하고 논리 수량을 돌려준다
+     * @throws InsufficientStockException 결과가 음수가 되는 경우
+     * @throws NoSuchElementException     없는 상품
+     */
+    public long adjust(Long itemId, int delta) {
+        return adjust(itemId, delta, (quantity, version) -> { });
+    }
+
+    /**
+     * adjust 후 셀 락을 잡은 채로 observer 에 반영 후 논리 수량과 version 을 넘긴다
+     * (같은 상품의 증감 통지가 반영 순서대로 나가도록)
+     */
+    public long adjust(Long itemId, int delta, AdjustmentObserver observer) {
+        while (true) {
+            StockCell cell = cells.get(itemId);
+            if (cell == null) {
+                // 셀이 없으면 반영 대기 중인 증감도 없으므로 DB(캐시) 값이 최신
+                long seenOverwrites = overwrites.get();
+                Item item = itemRepository.findById(itemId).orElseThrow(
+                        () -> new NoSuchElementException("상품 ID를 찾을 수 없습니다: " + itemId));
+                StockCell created = new StockCell(item.getQuantity(),
+                        item.getVersion() == null ? 0 : item.getVersion());
+                synchronized (created) {
+                    cell = cells.putIfAbsent(itemId, created);
+                    if (cell == null) {
+                        if (overwrites.get() != seenOverwrites) {
+                            // 읽은 뒤에 끝난 수정이 있으면 읽은 수량이 수정 전 값일 수 있으므로 다시 읽음
+                            retire(itemId, created);
+                            continue;
+                        }
+                        cell = created;
+                    }
+                }
+            }
+            boolean becameDirty;
+            long quantity;
+            synchronized (cell) {
+                awaitUnfenced(cell);
+                if (cell.retired) {
+                    continue;
+                }
+                long next = cell.logicalQuantity() + delta;
+                if (next < 0) {
+                    throw new InsufficientStockException(itemId, -delta);
+                }
+                becameDirty = !cell.dirty;
+                cell.dirty = true;
+                cell.pending += delta;
+                quantity = next;
+                observer.onAdjusted(quantity, cell.version);
+            }
+            adjustments.increment();
+            if (becameDirty && dirtyCells.incrementAndGet() >= maxPendingItems) {
+                requestFlush();
+            }
+            return quantity;
+        }
+    }
+
+    /**
+     * 반영 대기 중인 증감을 포함한 수량. 셀이 없으면 null (DB 값이 최신)
+     */
+    public Integer pendingQuantity(Long itemId) {
+        StockCell cell = cells.get(itemId);
+        if (cell == null) {
+            return null;
+        }
+        synchronized (cell) {
+            return cell.retired || cell.fenced ? null : (int) cell.logicalQuantity();
+        }
+    }
+
+    /**
+     * 수량을 절대값으로 덮어쓰는 수정 - 쌓인 증감을 DB 에 먼저 반영하고 write 를 실행한 뒤 셀을 버려서
+     * 이후 증감이 수정된 수량을 DB 에서 다시 읽게 한다. 반영부터 셀을 버릴 때까지 이 상품의 adjust 는 기다린다
+     * (그 사이 만들어진 셀이 수정 전 수량을 base 로 들고 남지 않도록).
+     * 반영으로 version 이 올라가므로 그 사이 재고 변동이 있었던 버전 지정 수정은 낙관적 잠금에 걸린다.
+     */
+    public void overwrite(Long itemId, Runnable write) {
+        StockCell fence = fence(itemId);
+        boolean flushed = false;
+        try {
+            flush();
+            flushed = true;
+            write.run();
+        } finally {
+            synchronized (fence) {
+                overwrites.incrementAndGet();
+                fence.fenced = false;
+                // 반영하지 못한 증감이 남아 있으면 셀을 유지해 다음 주기에 재시도
+                if (flushed || (fence.pending == 0 && fence.inFlight == 0)) {
+                    retire(itemId, fence);
+                }
+                fence.notifyAll();
+            }
+        }
+    }
+
+    // 상품의 셀을 (없으면 빈 셀을 만들어) 막아 둔다. 이미 다른 수정이 막아 두었으면 끝날 때까지 기다림
+    private StockCell fence(Long itemId) {
+        while (true) {
+            StockCell placeholder = new StockCell(0, 0);
+            placeholder.fenced = true;
+            StockCell cell = cells.putIfAbsent(itemId, placeholder);
+            if (cell == null) {
+                return placeholder;
+            }
+            synchronized (cell) {
+                awaitUnfenced(cell);
+                if (!cell.retired) {
+                    cell.fenced = true;
+                    return cell;
+                }
+            }
+        }
+    }
+
+    // cell 락을 잡은 상태에서 호출
+    private static void awaitUnfenced(StockCell cell) {
+        boolean interrupted = false;
+        while (cell.fenced) {
+            try {
+                cell.wait();
+            } catch (InterruptedException e) {
+                // 수정은 곧 끝나므로 기다린 뒤 인터럽트 상태만 되살린다
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 반영 통계
+     */
+    public Stats stats() {
+        return new Stats(adjustments.sum(), flushedUpdates.sum(), rejectedDeltas.sum(), rejectedUnits.sum(),
+                flushFailures.sum(), cells.size());
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 반영하지 못한 증감은 pending 으로 되돌렸으므로 다음 주기에 재시도
+            log.warn("재고 write-behind 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 쌓인 증감을 상품당 한 문장으로 합쳐 배치 반영
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            Map<Long, Integer> deltas = new HashMap<>();
+            Map<Long, StockCell> flushing = new HashMap<>();
+            AtomicInteger cleaned = new AtomicInteger();
+            cells.forEach((itemId, cell) -> {
+                synchronized (cell) {
+                    if (cell.dirty) {
+                        cell.dirty = false;
+                        cleaned.incrementAndGet();
+                    }
+                    if (cell.pending != 0) {
+                        cell.inFlight = cell.pending;
+                        cell.pending = 0;
+                        deltas.put(itemId, Math.toIntExact(cell.inFlight));
+                        flushing.put(itemId, cell);
+                    } else if (cell.inFlight == 0 && !cell.fenced) {
+                        // 한 주기 동안 변동이 없던 상품은 메모리에서 내림 (수정 중인 상품은 overwrite 가 내림)
+                        retire(itemId, cell);
+                    }
+                }
+            });
+            dirtyCells.addAndGet(-cleaned.get());
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            Set<Long> rejected;
+            try {
+                rejected = new HashSet<>(itemRepository.applyQuantityDeltas(deltas));
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                flushing.forEach((itemId, cell) -> {
+                    synchronized (cell) {
+                        if (!cell.dirty) {
+                            cell.dirty = true;
+                            dirtyCells.incrementAndGet();
+                        }
+                        cell.pending += cell.inFlight;
+                        cell.inFlight = 0;
+                    }
+                });
+                throw e;
+            }
+
+            flushing.forEach((itemId, cell) -> {
+                synchronized (cell) {
+                    if (rejected.contains(itemId)) {
+                        // 다른 경로(직접 수정 등)로 DB 수량이 바뀌어 음수가 되는 경우 - 반영하지 않고 DB 값을 다시 읽게 함
+                        // 이미 성공으로 응답한 차감이 사라지는 것이므로 stats 의 rejectedDeltas 로 드러낸다
+                        log.error("재고 write-behind 반영 거절 itemId={}, delta={}", itemId, cell.inFlight);
+                        rejectedDeltas.increment();
+                        rejectedUnits.add(Math.abs(cell.inFlight));
+                        cell.inFlight = 0;
+                        if (cell.pending == 0) {
+                            retire(itemId, cell);
+                        }
+                    } else {
+                        cell.base += cell.inFlight;
+                        cell.inFlight = 0;
+                        // applyQuantityDeltas 가 version 을 1 올림
+                        cell.version++;
+                    }
+                }
+            });
+            flushedUpdates.add(deltas.size());
+        }
+    }
+
+    // cell 락을 잡은 상태에서 호출
+    private void retire(Long itemId, StockCell cell) {
+        cell.retired = true;
+        cells.remove(itemId, cell);
+    }
+
+    /**
+     * 종료 시 남은 증감을 동기적으로 반영
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("재고 write-behind 종료: 증감 {}건을 UPDATE {}건으로 반영, 거절 {}건({}개)",
+                adjustments.sum(), flushedUpdates.sum(), rejectedDeltas.sum(), rejectedUnits.sum());
+    }
+
+    /**
+     * adjustments: 받은 증감 수, flushedUpdates: 반영한 UPDATE 수,
+     * rejectedDeltas/rejectedUnits: DB 에서 거절되어 버린 상품별 증감 수와 그 수량 합(절대값),
+     * flushFailures: 예외로 실패해 다음 주기로 미룬 반영 수, trackedItems: 메모리에 셀이 있는 상품 수
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Stats {
+        private final long adjustments;
+        private final long flushedUpdates;
+        private final long rejectedDeltas;
+        private final long rejectedUnits;
+        private final long flushFailures;
+        private final int trackedItems;
+    }
+
+    /**
+     * 증감 직후 논리 수량과 version (DB 에 반영될 때마다 1씩 올라감)
+     */
+    @FunctionalInterface
+    public interface AdjustmentObserver {
+        void onAdjusted(long quantity, long version);
+    }
+
+    private static final class StockCell {
+        private long base;
+        // base 를 읽거나 반영했을 때의 DB version
+        private long version;
+        private long inFlight;
+        private long pending;
+        // 마지막 flush 이후 증감이 있었는지 (size trigger 용 카운트)
+        private boolean dirty;
+        private boolean retired;
+        // overwrite 진행 중 - adjust 는 풀릴 때까지 기다린다
+        private boolean fenced;
+
+        private StockCell(long base, long version) {
+            this.base = base;
+            this.version = version;
+        }
+
+        private long logicalQuantity() {
+            return base + inFlight + pending;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package hello.itemservice.service.item.analytics;
+
+import static hello.itemservice.service.item.analytics.CatalogSnapshot.NO_VALUE;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.service.item.ItemChangeListener;
+import hello.itemservice.service.item.analytics.CatalogScans.HistogramScan;
+import hello.itemservice.service.item.analytics.CatalogScans.LowStockScan;
+import hello.itemservice.service.item.analytics.CatalogScans.SummaryScan;
+import hello.itemservice.service.item.analytics.CatalogScans.Totals;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재고 분석용 카탈로그 스냅샷 (열 단위 primitive 배열) 과 집계
+ * 기동 후 item 테이블을 스트리밍으로 읽어 스냅샷을 만들고, 이후 ItemService 변경 통지는 상품별로 합쳐 두었다가
+ * refresh-interval-ms 마다 새 스냅샷에 반영해 통째로 교체한다. 집계는 교체 시점의 스냅샷 하나만 보므로
+ * 변경 도중의 반쯤 바뀐 상태를 보지 않고, 락 없이 fork-join 풀에서 병렬로 훑는다.
+ * 통지는 도착 순서가 뒤바뀔 수 있으므로 합칠 때도, 스냅샷에 반영할 때도 행 version 이 큰 쪽을 남긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "custom.item.analytics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogAnalytics implements ItemChangeListener {
+
+    static final int[] DEFAULT_PRICE_BOUNDS = {1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+    private static final int MAX_PRICE_BOUNDS = 100;
+
+    private final ItemRepository itemRepository;
+    private final int maxLowStockItems;
+    private final ForkJoinPool scanPool;
+    private final ScheduledExecutorService refresher;
+    private final ConcurrentHashMap<Long, Change> pending = new ConcurrentHashMap<>();
+    // refreshLock 안에서(구성/반영)만 쓴다
+    private NameDictionary dictionary = new NameDictionary();
+    private final Object refreshLock = new Object();
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private volatile boolean ready;
+
+    public CatalogAnalytics(ItemRepository itemRepository,
+                            @Value("${custom.item.analytics.refresh-interval-ms:1000}") long refreshIntervalMs,
+                            @Value("${custom.item.analytics.parallelism:0}") int parallelism,
+                            @Value("${custom.item.analytics.max-low-stock-items:1000}") int maxLowStockItems) {
+        this.itemRepository = itemRepository;
+        this.maxLowStockItems = maxLowStockItems;
+        this.scanPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * item 테이블 전체로 스냅샷 구성. 구성 중 들어온 변경은 pending 에 남아 있다가 바로 이어서 반영된다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startNanos = System.nanoTime();
+        try {
+            synchronized (refreshLock) {
+                dictionary = new NameDictionary();
+                ColumnBuilder builder = new ColumnBuilder();
+                itemRepository.streamAll(builder::add);
+                snapshot = builder.build();
+                ready = true;
+            }
+            refresh();
+            log.info("카탈로그 스냅샷 구성 완료: {}건, {}ms", snapshot.size, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("카탈로그 스냅샷을 구성하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        pending.merge(item.getId(), Change.full(item), Change::merge);
+    }
+
+    @Override
+    public void onUpdated(Item updated) {
+        pending.merge(updated.getId(), Change.full(updated), Change::merge);
+    }
+
+    @Override
+    public void onQuantityAdjusted(Long itemId, int quantity, long version) {
+        pending.merge(itemId, Change.quantity(quantity, version), Change::merge);
+    }
+
+    public CatalogSummary summary() {
+        CatalogSnapshot current = readySnapshot();
+        Totals totals = current.size == 0 ? new Totals() : scanPool.invoke(new SummaryScan(current, 0, current.size));
+        boolean priced = totals.pricedItems > 0;
+        return new CatalogSummary(totals.items, totals.pricedItems, totals.soldOutItems, totals.totalQuantity,
+                totals.inventoryValue,
+                priced ? totals.minPrice : null,
+                priced ? totals.maxPrice : null,
+                priced ? (double) totals.priceSum / totals.pricedItems : null,
+                Instant.ofEpochMilli(current.builtAtMillis));
+    }
+
+    /**
+     * @param bounds 구간 경계 (오름차순). 비어 있으면 DEFAULT_PRICE_BOUNDS
+     */
+    public PriceHistogram priceHistogram(int[] bounds) {
+        int[] effective = bounds == null || bounds.length == 0 ? DEFAULT_PRICE_BOUNDS : bounds;
+        if (effective.length > MAX_PRICE_BOUNDS) {
+            throw new IllegalArgumentException("가격 구간 경계는 최대 " + MAX_PRICE_BOUNDS + "개입니다.");
+        }
+        for (int i = 1; i < effective.length; i++) {
+            if (effective[i - 1] >= effective[i]) {
+                throw new IllegalArgumentException("가격 구간 경계는 오름차순이어야 합니다.");
+            }
+        }
+        CatalogSnapshot current = readySnapshot();
+        long[] cells = current.size == 0
+                ? new long[(effective.length + 1) * 3 + 1]
+                : scanPool.invoke(new HistogramScan(current, 0, current.size, effective));
+
+        List<PriceHistogram.Bucket> buckets = new ArrayList<>(effective.length + 1);
+        for (int bucket = 0; bucket <= effective.length; bucket++) {
+            buckets.add(new PriceHistogram.Bucket(
+                    bucket == 0 ? null : effective[bucket - 1],
+                    bucket == effective.length ? null : effective[bucket],
+                    cells[bucket * 3], cells[bucket * 3 + 1], cells[bucket * 3 + 2]));
+        }
+        return new PriceHistogram(buckets, cells[cells.length - 1], Instant.ofEpochMilli(current.builtAtMillis));
+    }
+
+    public LowStockReport lowStock(int threshold, int limit) {
+        if (limit < 0 || limit > maxLowStockItems) {
+            throw new IllegalArgumentException("limit 은 0 ~ " + maxLowStockItems + " 사이여야 합니다.");
+        }
+        CatalogSnapshot current = readySnapshot();
+        List<LowStockReport.Entry> items = new ArrayList<>();
+        long matched = 0;
+        if (current.size > 0) {
+            LowStockScan.Matches matches = scanPool.invoke(new LowStockScan(current, 0, current.size, threshold, limit));
+            matched = matches.matched;
+            for (int i = 0; i < matches.size; i++) {
+                int index = LowStockScan.indexOf(matches.keys[i]);
+                items.add(new LowStockReport.Entry(current.ids[index], current.nameAt(index),
+                        CatalogSnapshot.decode(current.prices[index]), current.quantities[index]));
+            }
+        }
+        return new LowStockReport(threshold, matched, items, Instant.ofEpochMilli(current.builtAtMillis));
+    }
+
+    private CatalogSnapshot readySnapshot() {
+        if (!ready) {
+            throw new IllegalStateException("카탈로그 스냅샷을 구성하는 중입니다.");
+        }
+        return snapshot;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("카탈로그 스냅샷 갱신 실패: {}", e.toString());
+        }
+    }
+
+    /**
+     * 쌓인 변경을 새 스냅샷에 반영하고 교체. 구성 전이면 변경을 남겨 둔다
+     */
+    void refresh() {
+        synchronized (refreshLock) {
+            if (!ready || pending.isEmpty()) {
+                return;
+            }
+            // 키마다 원자적으로 꺼낸다. 꺼낸 뒤 들어온 변경은 다음 주기에 (이번 변경 위에) 반영된다
+            TreeMap<Long, Change> changes = new TreeMap<>();
+            for (Long id : pending.keySet()) {
+                Change change = pending.remove(id);
+                if (change != null) {
+                    changes.put(id, change);
+                }
+            }
+            snapshot = apply(snapshot, changes);
+        }
+    }
+
+    private CatalogSnapshot apply(CatalogSnapshot base, TreeMap<Long, Change> changes) {
+        // 기존 상품 변경과 새 상품 추가를 나눈다 (수량만 바뀐 모르는 상품은 버린다)
+        List<Map.Entry<Long, Change>> inserts = new ArrayList<>();
+        for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+            if (base.indexOf(entry.getKey()) < 0 && entry.getValue().full) {
+                inserts.add(entry);
+            }
+        }
+
+        int size = base.size + inserts.size();
+        long[] ids = new long[size];
+        int[] prices = new int[size];
+        int[] quantities = new int[size];
+        int[] nameCodes = new int[size];
+        long[] versions = new long[size];
+        long[] fieldVersions = new long[size];
+
+        // id 오름차순 병합. 새 상품은 대부분 끝에 붙으므로 사실상 배열 복사 + 덧붙이기
+        int from = 0;
+        int to = 0;
+        for (Map.Entry<Long, Change> insert : inserts) {
+            long id = insert.getKey();
+            int until = -base.indexOf(id) - 1;
+            int length = until - from;
+            System.arraycopy(base.ids, from, ids, to, length);
+            System.arraycopy(base.prices, from, prices, to, length);
+            System.arraycopy(base.quantities, from, quantities, to, length);
+            System.arraycopy(base.nameCodes, from, nameCodes, to, length);
+            System.arraycopy(base.versions, from, versions, to, length);
+            System.arraycopy(base.fieldVersions, from, fieldVersions, to, length);
+            to += length;
+            from = until;
+            ids[to] = id;
+            to++;
+        }
+        int rest = base.size - from;
+        System.arraycopy(base.ids, from, ids, to, rest);
+        System.arraycopy(base.prices, from, prices, to, rest);
+        System.arraycopy(base.quantities, from, quantities, to, rest);
+        System.arraycopy(base.nameCodes, from, nameCodes, to, rest);
+        System.arraycopy(base.versions, from, versions, to, rest);
+        System.arraycopy(base.fieldVersions, from, fieldVersions, to, rest);
+
+        // 값 반영 (새 상품 자리도 여기서 채운다). 스냅샷이 이미 더 최신 version 을 담고 있으면 그 부분은 버린다
+        for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+            int index = Arrays.binarySearch(ids, entry.getKey());
+            if (index < 0) {
+                continue;
+            }
+            Change change = entry.getValue();
+            if (change.version >= versions[index]) {
+                quantities[index] = change.quantity;
+                versions[index] = change.version;
+            }
+            if (change.full && change.fieldsVersion >= fieldVersions[index]) {
+                prices[index] = change.price;
+                nameCodes[index] = dictionary.encode(change.name);
+                fieldVersions[index] = change.fieldsVersion;
+            }
+        }
+        return new CatalogSnapshot(ids, prices, quantities, nameCodes, versions, fieldVersions, dictionary.values(),
+                size, System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        scanPool.shutdownNow();
+    }
+
+    /**
+     * 아직 스냅샷에 반영하지 않은 상품 변경. 같은 상품의 변경은 merge 로 합친다
+     * 수량은 version, 이름/가격은 fieldsVersion 기준으로 각각 더 최신인 쪽을 남긴다
+     * (수량만 바뀐 변경은 이름/가격을 모르므로 더 오래된 전체 변경의 이름/가격도 버리지 않는다)
+     */
+    static final class Change {
+        final boolean full;
+        final String name;
+        final int price;
+        final long fieldsVersion;
+        final int quantity;
+        final long version;
+
+        private Change(boolean full, String name, int price, long fieldsVersion, int quantity, long version) {
+            this.full = full;
+            this.name = name;
+            this.price = price;
+            this.fieldsVersion = fieldsVersion;
+            this.quantity = quantity;
+            this.version = version;
+        }
+
+        static Change full(Item item) {
+            long version = item.getVersion() == null ? 0 : item.getVersion();
+            return new Change(true, item.getItemName(), CatalogSnapshot.encode(item.getPrice()), version,
+                    CatalogSnapshot.encode(item.getQuantity()), version);
+        }
+
+        static Change quantity(int quantity, long version) {
+            return new Change(false, null, NO_VALUE, -1, quantity, version);
+        }
+
+        /**
+         * 도착 순서와 관계없이 같은 결과 (같은 version 이면 나중에 온 other 쪽)
+         */
+        Change merge(Change other) {
+            Change fields = !other.full || (full && fieldsVersion > other.fieldsVersion) ? this : other;
+            Change stock = version > other.version ? this : other;
+            if (fields == stock) {
+                return fields;
+            }
+            return new Change(fields.full, fields.name, fields.price, fields.fieldsVersion, stock.quantity,
+                    stock.version);
+        }
+    }
+
+    /**
+     * 스트리밍 구성용 가변 열 배열 (streamAll 은 id 순)
+     */
+    private final class ColumnBuilder {
+        private long[] ids = new long[1024];
+        private int[] prices = new int[1024];
+        private int[] quantities = new int[1024];
+        private int[] nameCodes = new int[1024];
+        private long[] versions = new long[1024];
+        private int size;
+
+        void add(Item item) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+            }
+            ids[size] = item.getId();
+            prices[size] = CatalogSnapshot.encode(item.getPrice());
+            quantities[size] = CatalogSnapshot.encode(item.getQuantity());
+            nameCodes[size] = dictionary.encode(item.getItemName());
+            versions[size] = item.getVersion() == null ? 0 : item.getVersion();
+            size++;
+        }
+
+        CatalogSnapshot build() {
+            // 읽은 행은 이름/가격/수량이 모두 같은 version
+            return new CatalogSnapshot(ids, prices, quantities, nameCodes, versions, versions.clone(),
+                    dictionary.values(), size, System.currentTimeMillis());
+        }
+    }
+}
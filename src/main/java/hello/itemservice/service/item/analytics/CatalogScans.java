@@ -0,0 +1,235 @@
+package hello.itemservice.service.item.analytics;
+
+import static hello.itemservice.service.item.analytics.CatalogSnapshot.NO_VALUE;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 스냅샷 열 배열을 구간으로 나눠 fork-join 으로 병렬 집계하는 작업들
+ * 구간이 SEQUENTIAL_THRESHOLD 이하가 되면 한 스레드가 배열을 순서대로 훑는다 (박싱/객체 생성 없음).
+ */
+final class CatalogScans {
+
+    // 이보다 작은 구간은 나누지 않는다 (작업 분할 비용 > 스캔 비용)
+    static final int SEQUENTIAL_THRESHOLD = 1 << 15;
+
+    private CatalogScans() {
+    }
+
+    abstract static class RangeScan<R> extends RecursiveTask<R> {
+        final CatalogSnapshot snapshot;
+        final int from;
+        final int to;
+
+        RangeScan(CatalogSnapshot snapshot, int from, int to) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return scan(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeScan<R> left = slice(from, mid);
+            left.fork();
+            R right = slice(mid, to).compute();
+            return combine(left.join(), right);
+        }
+
+        abstract R scan(int from, int to);
+
+        abstract RangeScan<R> slice(int from, int to);
+
+        abstract R combine(R left, R right);
+    }
+
+    static final class Totals {
+        long items;
+        long pricedItems;
+        long soldOutItems;
+        long totalQuantity;
+        long inventoryValue;
+        long priceSum;
+        int minPrice = Integer.MAX_VALUE;
+        int maxPrice = Integer.MIN_VALUE;
+    }
+
+    static final class SummaryScan extends RangeScan<Totals> {
+
+        SummaryScan(CatalogSnapshot snapshot, int from, int to) {
+            super(snapshot, from, to);
+        }
+
+        @Override
+        Totals scan(int from, int to) {
+            int[] prices = snapshot.prices;
+            int[] quantities = snapshot.quantities;
+            Totals totals = new Totals();
+            totals.items = to - from;
+            for (int i = from; i < to; i++) {
+                int price = prices[i];
+                int quantity = quantities[i];
+                boolean hasQuantity = quantity != NO_VALUE;
+                if (hasQuantity) {
+                    totals.totalQuantity += quantity;
+                    if (quantity <= 0) {
+                        totals.soldOutItems++;
+                    }
+                }
+                if (price != NO_VALUE) {
+                    totals.pricedItems++;
+                    totals.priceSum += price;
+                    totals.minPrice = Math.min(totals.minPrice, price);
+                    totals.maxPrice = Math.max(totals.maxPrice, price);
+                    if (hasQuantity && quantity > 0) {
+                        totals.inventoryValue += (long) price * quantity;
+                    }
+                }
+            }
+            return totals;
+        }
+
+        @Override
+        RangeScan<Totals> slice(int from, int to) {
+            return new SummaryScan(snapshot, from, to);
+        }
+
+        @Override
+        Totals combine(Totals left, Totals right) {
+            left.items += right.items;
+            left.pricedItems += right.pricedItems;
+            left.soldOutItems += right.soldOutItems;
+            left.totalQuantity += right.totalQuantity;
+            left.inventoryValue += right.inventoryValue;
+            left.priceSum += right.priceSum;
+            left.minPrice = Math.min(left.minPrice, right.minPrice);
+            left.maxPrice = Math.max(left.maxPrice, right.maxPrice);
+            return left;
+        }
+    }
+
+    /**
+     * 구간별 [상품 수, 수량, 재고 가치] 를 bucket * 3 길이 배열에 누적. 마지막 칸은 가격 없는 상품 수
+     */
+    static final class HistogramScan extends RangeScan<long[]> {
+
+        private final int[] bounds;
+
+        HistogramScan(CatalogSnapshot snapshot, int from, int to, int[] bounds) {
+            super(snapshot, from, to);
+            this.bounds = bounds;
+        }
+
+        @Override
+        long[] scan(int from, int to) {
+            int[] prices = snapshot.prices;
+            int[] quantities = snapshot.quantities;
+            long[] cells = new long[(bounds.length + 1) * 3 + 1];
+            for (int i = from; i < to; i++) {
+                int price = prices[i];
+                if (price == NO_VALUE) {
+                    cells[cells.length - 1]++;
+                    continue;
+                }
+                int bucket = Arrays.binarySearch(bounds, price);
+                // [from, to) 이므로 경계값과 같으면 다음 구간
+                bucket = bucket >= 0 ? bucket + 1 : -bucket - 1;
+                int quantity = quantities[i] == NO_VALUE ? 0 : Math.max(0, quantities[i]);
+                cells[bucket * 3]++;
+                cells[bucket * 3 + 1] += quantity;
+                cells[bucket * 3 + 2] += (long) price * quantity;
+            }
+            return cells;
+        }
+
+        @Override
+        RangeScan<long[]> slice(int from, int to) {
+            return new HistogramScan(snapshot, from, to, bounds);
+        }
+
+        @Override
+        long[] combine(long[] left, long[] right) {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }
+    }
+
+    /**
+     * 수량 threshold 이하 상품의 (수량, 위치) 상위 limit 개. 키 = 수량 << 32 | 위치 이므로 키 순서가 곧 보고 순서
+     */
+    static final class LowStockScan extends RangeScan<LowStockScan.Matches> {
+
+        static final class Matches {
+            long matched;
+            long[] keys;
+            int size;
+        }
+
+        private final int threshold;
+        private final int limit;
+
+        LowStockScan(CatalogSnapshot snapshot, int from, int to, int threshold, int limit) {
+            super(snapshot, from, to);
+            this.threshold = threshold;
+            this.limit = limit;
+        }
+
+        @Override
+        Matches scan(int from, int to) {
+            int[] quantities = snapshot.quantities;
+            Matches matches = new Matches();
+            matches.keys = new long[Math.min(16, limit * 2)];
+            for (int i = from; i < to; i++) {
+                int quantity = quantities[i];
+                if (quantity == NO_VALUE || quantity > threshold) {
+                    continue;
+                }
+                matches.matched++;
+                if (limit == 0) {
+                    continue;
+                }
+                if (matches.size == matches.keys.length) {
+                    if (matches.size >= limit * 2) {
+                        truncate(matches);
+                    } else {
+                        matches.keys = Arrays.copyOf(matches.keys, Math.min(matches.keys.length * 2, limit * 2));
+                    }
+                }
+                matches.keys[matches.size++] = ((long) quantity << 32) | i;
+            }
+            truncate(matches);
+            return matches;
+        }
+
+        @Override
+        RangeScan<Matches> slice(int from, int to) {
+            return new LowStockScan(snapshot, from, to, threshold, limit);
+        }
+
+        @Override
+        Matches combine(Matches left, Matches right) {
+            long[] keys = Arrays.copyOf(left.keys, left.size + right.size);
+            System.arraycopy(right.keys, 0, keys, left.size, right.size);
+            left.keys = keys;
+            left.size = keys.length;
+            left.matched += right.matched;
+            truncate(left);
+            return left;
+        }
+
+        private void truncate(Matches matches) {
+            Arrays.sort(matches.keys, 0, matches.size);
+            matches.size = Math.min(matches.size, limit);
+        }
+
+        static int indexOf(long key) {
+            return (int) key;
+        }
+    }
+}
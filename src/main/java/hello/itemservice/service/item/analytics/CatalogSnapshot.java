@@ -0,0 +1,57 @@
+package hello.itemservice.service.item.analytics;
+
+import java.util.Arrays;
+
+/**
+ * 상품 카탈로그의 열(column) 단위 불변 스냅샷
+ * id 오름차순으로 같은 위치에 가격/수량/이름 코드가 놓인다. 값이 없으면(null) NO_VALUE.
+ * versions 는 수량을, fieldVersions 는 이름/가격을 마지막으로 반영한 행 version (늦게 온 이전 변경을 거르는 용도)
+ * 만든 뒤에는 바꾸지 않으므로 volatile 참조 하나로 통째로 교체하면 읽는 쪽은 락 없이 일관된 상태를 본다.
+ */
+final class CatalogSnapshot {
+
+    static final int NO_VALUE = Integer.MIN_VALUE;
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(new long[0], new int[0], new int[0], new int[0],
+            new long[0], new long[0], new String[0], 0, 0L);
+
+    final long[] ids;
+    final int[] prices;
+    final int[] quantities;
+    final int[] nameCodes;
+    final long[] versions;
+    final long[] fieldVersions;
+    // NameDictionary 의 배열을 공유한다. 이 스냅샷이 참조하는 코드는 모두 공개 전에 채워진 값
+    final String[] names;
+    final int size;
+    final long builtAtMillis;
+
+    CatalogSnapshot(long[] ids, int[] prices, int[] quantities, int[] nameCodes, long[] versions,
+                    long[] fieldVersions, String[] names, int size, long builtAtMillis) {
+        this.ids = ids;
+        this.prices = prices;
+        this.quantities = quantities;
+        this.nameCodes = nameCodes;
+        this.versions = versions;
+        this.fieldVersions = fieldVersions;
+        this.names = names;
+        this.size = size;
+        this.builtAtMillis = builtAtMillis;
+    }
+
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    String nameAt(int index) {
+        int code = nameCodes[index];
+        return code < 0 ? null : names[code];
+    }
+
+    static int encode(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    static Integer decode(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+}
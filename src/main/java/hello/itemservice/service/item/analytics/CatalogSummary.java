@@ -0,0 +1,24 @@
+package hello.itemservice.service.item.analytics;
+
+import java.time.Instant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카탈로그 전체 집계. 재고 가치 = Σ 가격 × 수량 (가격/수량이 있는 상품만)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogSummary {
+    private final long items;
+    private final long pricedItems;
+    private final long soldOutItems;
+    private final long totalQuantity;
+    private final long inventoryValue;
+    private final Integer minPrice;
+    private final Integer maxPrice;
+    private final Double averagePrice;
+    // 집계에 쓴 스냅샷 시점 (변경 반영은 refresh-interval-ms 만큼 늦을 수 있다)
+    private final Instant snapshotAt;
+}
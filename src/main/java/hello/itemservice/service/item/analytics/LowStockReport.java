@@ -0,0 +1,28 @@
+package hello.itemservice.service.item.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 수량이 threshold 이하인 상품 (수량 오름차순, 같으면 id 순으로 최대 limit 건). matched 는 전체 해당 건수
+ */
+@Getter
+@RequiredArgsConstructor
+public class LowStockReport {
+    private final int threshold;
+    private final long matched;
+    private final List<Entry> items;
+    private final Instant snapshotAt;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final long id;
+        private final String itemName;
+        private final Integer price;
+        private final int quantity;
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice.service.item.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 상품 이름 사전 (이름 -> int 코드). 스냅샷 갱신 스레드 하나만 쓴다.
+ * 추가만 하므로 이전 스냅샷이 들고 있는 배열의 기존 코드는 바뀌지 않는다.
+ * 수정으로 더 이상 쓰이지 않는 이름도 남는다 (스냅샷을 다시 구성할 때 새 사전으로 정리).
+ */
+final class NameDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[1024];
+    private int size;
+
+    int encode(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = name;
+        codes.put(name, size);
+        return size++;
+    }
+
+    String[] values() {
+        return values;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.service.item.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 가격 구간별 상품 수 / 수량 / 재고 가치. 구간은 [from, to), 첫 구간의 from 과 마지막 구간의 to 는 null(무한)
+ */
+@Getter
+@RequiredArgsConstructor
+public class PriceHistogram {
+    private final List<Bucket> buckets;
+    private final long unpricedItems;
+    private final Instant snapshotAt;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Bucket {
+        private final Integer from;
+        private final Integer to;
+        private final long items;
+        private final long quantity;
+        private final long inventoryValue;
+    }
+}
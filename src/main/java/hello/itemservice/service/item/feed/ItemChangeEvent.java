@@ -0,0 +1,27 @@
+package hello.itemservice.service.item.feed;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 변경 피드 한 건. sequence 는 프로세스 안에서 1 부터 빈틈없이 증가한다.
+ * STOCK 은 수량만 바뀐 경우라 itemName/price 가 null
+ * version 은 변경 후 행의 version (write-behind 재고 증감은 DB 반영 전까지 같은 값이 이어질 수 있음)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemChangeEvent {
+
+    public enum Type {
+        SAVED, UPDATED, STOCK
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final long itemId;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final long version;
+    private final long timestamp;
+}
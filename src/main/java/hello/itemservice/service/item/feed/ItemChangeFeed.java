@@ -0,0 +1,150 @@
+package hello.itemservice.service.item.feed;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemChangeListener;
+import hello.itemservice.service.item.feed.ItemChangeEvent.Type;
+
+/**
+ * 상품 변경 피드 (sequence 번호가 붙은 메모리 로그 + 구독자별 대기열)
+ * ItemService 변경 통지를 이벤트로 만들어 최근 retained-events 건을 링 버퍼에 보관하고, 구독자 대기열에 넣는다.
+ * 발행은 대기열에 넣기만 하므로(가득 차면 버림) 느린 구독자가 쓰기 요청을 막지 않는다.
+ * 재개: 마지막으로 받은 sequence 를 주면 그 다음부터 다시 보낸다. 이미 링에서 밀려났으면 reset.
+ * 프로세스가 재시작하면 sequence 도 다시 시작하므로, 현재보다 큰 sequence 로 재개해도 reset.
+ * 통지가 DB 반영 순서와 다르게 도착하면 이미 발행한 것보다 오래된 version 의 변경은 발행하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.item.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ItemChangeFeed implements ItemChangeListener {
+
+    private final ItemChangeEvent[] ring;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final Set<ItemChangeSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // this 로 보호 - sequence 순서대로 링과 대기열에 들어가도록 발행/구독을 직렬화
+    private long lastSequence;
+    // this 로 보호 - 상품별 마지막 발행 version (최근 발행한 상품 retained-events 개까지만)
+    private final Map<Long, Long> publishedVersions;
+
+    public ItemChangeFeed(@Value("${custom.item.feed.retained-events:10000}") int retainedEvents,
+                          @Value("${custom.item.feed.subscriber-buffer:1000}") int subscriberBuffer,
+                          @Value("${custom.item.feed.max-subscribers:200}") int maxSubscribers) {
+        this.ring = new ItemChangeEvent[Math.max(1, retainedEvents)];
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        int trackedItems = ring.length;
+        this.publishedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > trackedItems;
+            }
+        };
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        synchronized (this) {
+            publish(Type.SAVED, item);
+        }
+    }
+
+    @Override
+    public void onSavedAll(List<Item> items) {
+        synchronized (this) {
+            items.forEach(item -> publish(Type.SAVED, item));
+        }
+    }
+
+    @Override
+    public void onUpdated(Item updated) {
+        synchronized (this) {
+            publish(Type.UPDATED, updated);
+        }
+    }
+
+    @Override
+    public void onQuantityAdjusted(Long itemId, int quantity, long version) {
+        synchronized (this) {
+            if (isStale(itemId, version)) {
+                return;
+            }
+            append(new ItemChangeEvent(lastSequence + 1, Type.STOCK, itemId, null, null, quantity, version,
+                    System.currentTimeMillis()));
+        }
+    }
+
+    private void publish(Type type, Item item) {
+        long version = item.getVersion() == null ? 0 : item.getVersion();
+        if (isStale(item.getId(), version)) {
+            return;
+        }
+        append(new ItemChangeEvent(lastSequence + 1, type, item.getId(), item.getItemName(), item.getPrice(),
+                item.getQuantity(), version, System.currentTimeMillis()));
+    }
+
+    // this 로 보호된 상태에서 호출. 같은 version 은 발행 (write-behind 증감)
+    private boolean isStale(Long itemId, long version) {
+        Long published = publishedVersions.get(itemId);
+        if (published != null && published > version) {
+            return true;
+        }
+        publishedVersions.put(itemId, version);
+        return false;
+    }
+
+    private void append(ItemChangeEvent event) {
+        lastSequence = event.getSequence();
+        ring[slot(lastSequence)] = event;
+        for (ItemChangeSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * @param afterSequence 마지막으로 받은 sequence (null 이면 지금부터)
+     * @throws IllegalStateException 구독자 수가 max-subscribers 에 도달
+     */
+    public synchronized ItemChangeSubscription subscribe(Long afterSequence) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new IllegalStateException("변경 피드 구독자가 너무 많습니다: " + maxSubscribers);
+        }
+        long oldestRetained = Math.max(1, lastSequence - ring.length + 1);
+        boolean resumable = afterSequence != null
+                && afterSequence >= oldestRetained - 1 && afterSequence <= lastSequence;
+        boolean reset = afterSequence != null && !resumable;
+
+        int backlog = resumable ? (int) (lastSequence - afterSequence) : 0;
+        ItemChangeSubscription subscription =
+                new ItemChangeSubscription(this, subscriberBuffer + backlog, lastSequence, reset);
+        for (long sequence = lastSequence - backlog + 1; sequence <= lastSequence; sequence++) {
+            subscription.offer(ring[slot(sequence)]);
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void unsubscribe(ItemChangeSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+}
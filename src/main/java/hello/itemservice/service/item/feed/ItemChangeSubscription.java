@@ -0,0 +1,62 @@
+package hello.itemservice.service.item.feed;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * 구독자 한 명의 전달 대기열 (크기 고정)
+ * 재개 시 다시 보낼 이벤트를 먼저 채우고, 이후 발행되는 이벤트를 이어 받는다.
+ * 대기열이 가득 차면(느린 구독자) 더 쌓지 않고 overflowed 로 표시한다 - 보내는 쪽은 연결을 끊고,
+ * 클라이언트는 마지막으로 받은 sequence 부터 다시 구독한다.
+ */
+public class ItemChangeSubscription implements AutoCloseable {
+
+    private final ItemChangeFeed feed;
+    private final ArrayBlockingQueue<ItemChangeEvent> queue;
+    // 구독 시점에 이미 발행된 마지막 sequence
+    @Getter
+    private final long startSequence;
+    // 요청한 위치가 보관 구간 밖이라 이어 받을 수 없음 - 전체를 다시 읽어야 한다
+    @Getter
+    private final boolean reset;
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    ItemChangeSubscription(ItemChangeFeed feed, int capacity, long startSequence, boolean reset) {
+        this.feed = feed;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.startSequence = startSequence;
+        this.reset = reset;
+    }
+
+    void offer(ItemChangeEvent event) {
+        if (!overflowed && !queue.offer(event)) {
+            overflowed = true;
+        }
+    }
+
+    /**
+     * 다음 이벤트. timeout 동안 없으면 null
+     */
+    public ItemChangeEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            feed.unsubscribe(this);
+        }
+    }
+}
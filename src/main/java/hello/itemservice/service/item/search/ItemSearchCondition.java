@@ -0,0 +1,30 @@
+package hello.itemservice.service.item.search;
+
+import lombok.Data;
+
+/**
+ * 상품 검색 조건
+ * name 이 비어 있으면 이름 조건 없음, minPrice/maxPrice 는 포함 범위
+ */
+@Data
+public class ItemSearchCondition {
+
+    public enum NameMatch {
+        /** 이름이 name 으로 시작 (대소문자 무시) */
+        PREFIX,
+        /** 이름에 name 이 포함 (대소문자 무시, 3글자 미만이면 PREFIX 로 처리) */
+        CONTAINS
+    }
+
+    public enum Sort {
+        NAME, PRICE_ASC, PRICE_DESC, ID
+    }
+
+    private String name;
+    private NameMatch match = NameMatch.PREFIX;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Sort sort = Sort.NAME;
+    private int page = 0;
+    private int size = 20;
+}
@@ -0,0 +1,514 @@
+package hello.itemservice.service.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.service.item.ItemChangeListener;
+import hello.itemservice.service.item.search.ItemSearchCondition.NameMatch;
+import hello.itemservice.service.item.search.ItemSearchCondition.Sort;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품 이름/가격 검색용 메모리 인덱스
+ * - 이름 접두사 : (소문자 이름, id) 순으로 정렬된 TreeSet 의 구간 조회
+ * - 이름 부분일치: 소문자 이름의 3-gram -> id 정렬 배열, 가장 짧은 목록부터 교집합 후 실제 포함 여부 확인
+ * - 가격 범위   : 가격 -> id 정렬 배열의 TreeMap 구간 조회
+ * - id 순 전체  : 전체 id 정렬 배열
+ * 기동 후 item 테이블을 스트리밍으로 읽어 만들고, 이후에는 ItemService 변경 통지로 갱신한다.
+ * 통지는 순서가 뒤바뀌어 올 수 있으므로 상품별 version 이 들고 있는 것보다 작은 통지는 버린다.
+ * 조회는 read lock, 변경은 write lock. 요청한 정렬이 조회 구조의 순서와 같으면 페이지만큼 읽고 멈춘다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "custom.item.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ItemSearchIndex implements ItemChangeListener {
+
+    private static final int TRIGRAM = 3;
+    private static final int BUILD_CHUNK = 1000;
+    // 가격이 없는 상품의 가격 키 (가격 조건이 있으면 항상 제외)
+    private static final int NO_PRICE = Integer.MIN_VALUE;
+
+    private static final Comparator<Entry> NAME_ORDER =
+            Comparator.comparing((Entry e) -> e.lowerName).thenComparingLong(e -> e.id);
+    private static final Comparator<Entry> PRICE_ORDER =
+            Comparator.comparingInt((Entry e) -> e.price).thenComparingLong(e -> e.id);
+    private static final Comparator<Entry> PRICE_DESC_ORDER =
+            Comparator.comparingInt((Entry e) -> e.price).reversed().thenComparingLong(e -> e.id);
+    private static final Comparator<Entry> ID_ORDER = Comparator.comparingLong(e -> e.id);
+
+    private final ItemRepository itemRepository;
+    private final int maxPageSize;
+    // page * size + size 의 상한 - 깊은 페이지는 앞쪽 결과를 모두 모아야 하므로 버퍼 크기도 이 값으로 제한된다
+    private final int maxOffset;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final LongPostingList allIds = new LongPostingList();
+    private final TreeSet<Entry> byName = new TreeSet<>(NAME_ORDER);
+    private final TreeMap<Integer, LongPostingList> byPrice = new TreeMap<>();
+    private final Map<Long, LongPostingList> trigrams = new HashMap<>();
+    // 구성 중 아직 읽지 않은 상품에 온 재고 통지 - 그 상품 행을 읽어 넣을 때 더 최신이면 덮어쓴다 (write lock)
+    private final Map<Long, Entry> pendingQuantities = new HashMap<>();
+    // write lock 안에서만 true 로 바뀜 (이후로는 pendingQuantities 에 쌓이지 않도록)
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${custom.item.page.max-size:100}") int maxPageSize,
+                           @Value("${custom.item.search.max-offset:10000}") int maxOffset) {
+        this.itemRepository = itemRepository;
+        this.maxPageSize = maxPageSize;
+        this.maxOffset = maxOffset;
+    }
+
+    /**
+     * item 테이블 전체를 스트리밍으로 읽어 인덱스 구성
+     * 구성 중 들어온 변경과 읽은 행은 version 으로 비교해 더 최신인 쪽을 남긴다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startNanos = System.nanoTime();
+        List<Item> chunk = new ArrayList<>(BUILD_CHUNK);
+        try {
+            itemRepository.streamAll(item -> {
+                chunk.add(item);
+                if (chunk.size() == BUILD_CHUNK) {
+                    putAllIfNewer(chunk);
+                    chunk.clear();
+                }
+            });
+            putAllIfNewer(chunk);
+            lock.writeLock().lock();
+            try {
+                ready = true;
+                pendingQuantities.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("상품 검색 인덱스 구성 완료: {}건, {}ms", size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("상품 검색 인덱스를 구성하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSavedAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onUpdated(Item updated) {
+        lock.writeLock().lock();
+        try {
+            // 구성 중 아직 읽지 않은 상품이어도 넣어 둔다 (나중에 읽은 행이 더 오래되었으면 버려짐)
+            put(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onQuantityAdjusted(Long itemId, int quantity, long version) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = byId.get(itemId);
+            if (entry != null) {
+                if (version >= entry.version) {
+                    entry.quantity = quantity;
+                    entry.version = version;
+                }
+            } else if (!ready) {
+                // 수량만으로는 항목을 만들 수 없으므로 그 상품 행을 읽을 때까지 보관
+                Entry stock = Entry.stock(itemId, quantity, version);
+                pendingQuantities.merge(itemId, stock, (held, next) -> next.version >= held.version ? next : held);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 상품 한 페이지
+     * @throws IllegalStateException    인덱스 구성 전
+     * @throws IllegalArgumentException 두 번째 이후 페이지의 끝이 max-offset 을 넘는 경우
+     */
+    public ItemSearchResult search(ItemSearchCondition condition) {
+        if (!ready) {
+            throw new IllegalStateException("상품 검색 인덱스를 구성하는 중입니다.");
+        }
+        int size = Math.max(1, Math.min(condition.getSize(), maxPageSize));
+        int page = Math.max(0, condition.getPage());
+        // int 곱셈이 넘쳐 음수가 되지 않도록 long 으로 계산 (첫 페이지는 항상 허용)
+        long end = (long) page * size + size;
+        if (page > 0 && end > maxOffset) {
+            throw new IllegalArgumentException("검색 결과는 앞에서 " + maxOffset + "건까지만 조회할 수 있습니다: page="
+                    + page + ", size=" + size);
+        }
+        int skip = page * size;
+        Query query = new Query(condition);
+
+        lock.readLock().lock();
+        try {
+            List<Entry> window = collect(query, skip + size + 1);
+            boolean hasNext = window.size() > skip + size;
+            List<Item> items = new ArrayList<>(size);
+            for (int i = skip; i < Math.min(window.size(), skip + size); i++) {
+                items.add(window.get(i).toItem());
+            }
+            return new ItemSearchResult(items, page, size, hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 정렬 순서대로 앞에서 limit 개
+     */
+    private List<Entry> collect(Query query, int limit) {
+        Comparator<Entry> order = switch (query.sort) {
+            case NAME -> NAME_ORDER;
+            case PRICE_ASC -> PRICE_ORDER;
+            case PRICE_DESC -> PRICE_DESC_ORDER;
+            case ID -> ID_ORDER;
+        };
+
+        Iterator<Entry> candidates;
+        Sort naturalOrder;
+        if (query.name != null && query.match == NameMatch.CONTAINS && query.name.length() >= TRIGRAM) {
+            candidates = trigramCandidates(query.name).iterator();
+            naturalOrder = Sort.ID;
+        } else if (query.name != null) {
+            candidates = byName.subSet(Entry.probe(query.name), true, Entry.probe(query.name + Character.MAX_VALUE), false)
+                    .iterator();
+            naturalOrder = Sort.NAME;
+        } else if (query.hasPriceRange() || query.sort == Sort.PRICE_ASC || query.sort == Sort.PRICE_DESC) {
+            boolean descending = query.sort == Sort.PRICE_DESC;
+            candidates = priceCandidates(query, descending);
+            naturalOrder = descending ? Sort.PRICE_DESC : Sort.PRICE_ASC;
+        } else if (query.sort == Sort.ID) {
+            candidates = postingCandidates(allIds);
+            naturalOrder = Sort.ID;
+        } else {
+            candidates = byName.iterator();
+            naturalOrder = Sort.NAME;
+        }
+
+        if (naturalOrder == query.sort) {
+            // 이미 원하는 순서 - 페이지만큼 모이면 멈춤
+            List<Entry> result = new ArrayList<>(Math.min(limit, 1024));
+            while (candidates.hasNext() && result.size() < limit) {
+                Entry entry = candidates.next();
+                if (query.matches(entry)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+
+        // 순서가 다르면 후보 전체를 보며 크기 limit 의 힙으로 상위 limit 개만 유지
+        PriorityQueue<Entry> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        while (candidates.hasNext()) {
+            Entry entry = candidates.next();
+            if (!query.matches(entry)) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(entry);
+            } else if (order.compare(entry, top.peek()) < 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+        List<Entry> result = new ArrayList<>(top);
+        result.sort(order);
+        return result;
+    }
+
+    private List<Entry> trigramCandidates(String name) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (int i = 0; i + TRIGRAM <= name.length(); i++) {
+            LongPostingList list = trigrams.get(trigram(name, i));
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+        LongPostingList smallest = lists.get(0);
+        List<Entry> result = new ArrayList<>();
+        outer:
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(byId.get(id));
+        }
+        return result;
+    }
+
+    private Iterator<Entry> priceCandidates(Query query, boolean descending) {
+        int min = query.minPrice == null ? NO_PRICE : query.minPrice;
+        int max = query.maxPrice == null ? Integer.MAX_VALUE : query.maxPrice;
+        if (min > max) {
+            return Collections.emptyIterator();
+        }
+        NavigableMap<Integer, LongPostingList> range = byPrice.subMap(min, true, max, true);
+        return postingCandidates((descending ? range.descendingMap() : range).values().iterator());
+    }
+
+    private Iterator<Entry> postingCandidates(LongPostingList ids) {
+        return postingCandidates(List.of(ids).iterator());
+    }
+
+    /**
+     * id 목록들을 차례로 이어서 Entry 로 돌려주는 반복자
+     */
+    private Iterator<Entry> postingCandidates(Iterator<LongPostingList> buckets) {
+        return new Iterator<>() {
+            private LongPostingList bucket;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (bucket == null || index >= bucket.size()) {
+                    if (!buckets.hasNext()) {
+                        return false;
+                    }
+                    bucket = buckets.next();
+                    index = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return byId.get(bucket.get(index++));
+            }
+        };
+    }
+
+    // 같은 version 이면 통지로 들어온 쪽을 유지 (write-behind 증감은 DB 에 반영되기 전 수량일 수 있다)
+    private void putAllIfNewer(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                Entry held = byId.get(item.getId());
+                if (held == null || held.version < (item.getVersion() == null ? 0 : item.getVersion())) {
+                    put(item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // write lock 을 잡은 상태에서 호출
+    // 수정 시 바뀐 필드의 인덱스만 고친다 (흔한 3-gram 목록은 길어서 중간 삭제 비용이 크다)
+    // 들고 있는 것보다 오래된 version 이면 버리고, 구성 중 보관해 둔 더 최신 재고 통지가 있으면 수량에 반영
+    private void put(Item item) {
+        Entry entry = Entry.of(item);
+        Entry previous = byId.get(entry.id);
+        if (previous != null && previous.version > entry.version) {
+            return;
+        }
+        byId.put(entry.id, entry);
+        Entry stock = pendingQuantities.isEmpty() ? null : pendingQuantities.remove(entry.id);
+        if (stock != null && stock.version >= entry.version) {
+            entry.quantity = stock.quantity;
+            entry.version = stock.version;
+        }
+        if (previous == null) {
+            allIds.add(entry.id);
+        } else {
+            byName.remove(previous);
+        }
+        byName.add(entry);
+
+        if (previous == null || previous.price != entry.price) {
+            if (previous != null) {
+                removePosting(byPrice, previous.price, previous.id);
+            }
+            byPrice.computeIfAbsent(entry.price, price -> new LongPostingList()).add(entry.id);
+        }
+        if (previous == null || !previous.lowerName.equals(entry.lowerName)) {
+            if (previous != null) {
+                for (long gram : previous.trigrams()) {
+                    removePosting(trigrams, gram, previous.id);
+                }
+            }
+            for (long gram : entry.trigrams()) {
+                trigrams.computeIfAbsent(gram, key -> new LongPostingList()).add(entry.id);
+            }
+        }
+    }
+
+    private static <K> void removePosting(Map<K, LongPostingList> index, K key, long id) {
+        LongPostingList list = index.get(key);
+        if (list != null) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static long trigram(String s, int from) {
+        return ((long) s.charAt(from) << 32) | ((long) s.charAt(from + 1) << 16) | s.charAt(from + 2);
+    }
+
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Query {
+        private final String name;
+        private final NameMatch match;
+        private final Integer minPrice;
+        private final Integer maxPrice;
+        private final Sort sort;
+
+        private Query(ItemSearchCondition condition) {
+            this.name = normalize(condition.getName());
+            this.match = condition.getMatch() == null ? NameMatch.PREFIX : condition.getMatch();
+            this.minPrice = condition.getMinPrice();
+            this.maxPrice = condition.getMaxPrice();
+            this.sort = condition.getSort() == null ? Sort.NAME : condition.getSort();
+        }
+
+        private boolean hasPriceRange() {
+            return minPrice != null || maxPrice != null;
+        }
+
+        private boolean matches(Entry entry) {
+            if (hasPriceRange()) {
+                if (entry.price == NO_PRICE
+                        || (minPrice != null && entry.price < minPrice)
+                        || (maxPrice != null && entry.price > maxPrice)) {
+                    return false;
+                }
+            }
+            if (name == null) {
+                return true;
+            }
+            // 3글자 미만 부분일치는 3-gram 을 쓸 수 없으므로 접두사로 처리
+            return match == NameMatch.CONTAINS && name.length() >= TRIGRAM
+                    ? entry.lowerName.contains(name)
+                    : entry.lowerName.startsWith(name);
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String name;
+        private final String lowerName;
+        private final int price;
+        // write lock 안에서만 변경
+        private int quantity;
+        private long version;
+
+        private Entry(long id, String name, String lowerName, int price, int quantity, long version) {
+            this.id = id;
+            this.name = name;
+            this.lowerName = lowerName;
+            this.price = price;
+            this.quantity = quantity;
+            this.version = version;
+        }
+
+        private static Entry of(Item item) {
+            String name = item.getItemName() == null ? "" : item.getItemName();
+            return new Entry(item.getId(), name, name.toLowerCase(Locale.ROOT),
+                    item.getPrice() == null ? NO_PRICE : item.getPrice(),
+                    item.getQuantity() == null ? 0 : item.getQuantity(),
+                    item.getVersion() == null ? 0 : item.getVersion());
+        }
+
+        // 구성 중 보관하는 재고 통지 (수량과 version 만 의미 있음)
+        private static Entry stock(long id, int quantity, long version) {
+            return new Entry(id, "", "", NO_PRICE, quantity, version);
+        }
+
+        // 이름 구간 조회용 경계값 (같은 이름 중 가장 앞)
+        private static Entry probe(String lowerName) {
+            return new Entry(Long.MIN_VALUE, lowerName, lowerName, 0, 0, 0);
+        }
+
+        private long[] trigrams() {
+            if (lowerName.length() < TRIGRAM) {
+                return new long[0];
+            }
+            long[] grams = new long[lowerName.length() - TRIGRAM + 1];
+            for (int i = 0; i < grams.length; i++) {
+                grams[i] = trigram(lowerName, i);
+            }
+            // 같은 3-gram 이 여러 번 나와도 목록에는 한 번만 (add 가 중복을 무시)
+            Arrays.sort(grams);
+            return grams;
+        }
+
+        private Item toItem() {
+            Item item = new Item(name, price == NO_PRICE ? null : price, quantity);
+            item.setId(id);
+            item.setVersion(version);
+            return item;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package hello.itemservice.service.item.search;
+
+import java.util.List;
+
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 검색 결과 한 페이지. 전체 건수는 세지 않고 (조기 종료를 위해) 다음 페이지 존재 여부만 돌려준다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemSearchResult {
+    private final List<Item> items;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+}
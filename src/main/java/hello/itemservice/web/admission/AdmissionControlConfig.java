@@ -0,0 +1,39 @@
+package hello.itemservice.web.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
+
+/**
+ * 상품 화면(/basic/items/**) 앞단 입장 제어 (custom.admission.*)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "custom.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(PoolMetricsRegistry poolMetrics,
+                                                         @Value("${custom.admission.max-concurrent:32}") int maxConcurrent,
+                                                         @Value("${custom.admission.max-queue:64}") int maxQueue,
+                                                         @Value("${custom.admission.queue-timeout-ms:50}") long queueTimeoutMs,
+                                                         @Value("${custom.admission.max-pending-acquisitions:10}") int maxPendingAcquisitions,
+                                                         @Value("${custom.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        return new AdmissionControlFilter(poolMetrics, maxConcurrent, maxQueue, queueTimeoutMs,
+                maxPendingAcquisitions, retryAfterSeconds);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter admissionControlFilter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(admissionControlFilter);
+        registration.addUrlPatterns("/basic/items", "/basic/items/*");
+        // 다른 필터(인코딩 제외)보다 먼저 거절해서 거절 비용을 최소화
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,96 @@
+package hello.itemservice.web.admission;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 과부하 시 요청을 빨리 거절하는 입장 제어 필터 (503 + Retry-After)
+ * 1. 커넥션 풀 대기 스레드가 maxPendingAcquisitions 를 넘으면 즉시 거절
+ * 2. 동시 처리 수를 maxConcurrent 로 제한하고, 자리를 기다리는 요청이 maxQueue 이상이면 즉시 거절
+ * 3. queueTimeout 안에 자리를 얻지 못하면 거절
+ * 풀의 connectionTimeout 까지 스레드가 묶여 있다가 모두 실패하는 대신 넘치는 요청만 수 ms 안에 실패시킨다.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final PoolMetricsRegistry poolMetrics;
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final int maxPendingAcquisitions;
+    private final int retryAfterSeconds;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedPoolPending = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedQueueTimeout = new LongAdder();
+
+    public AdmissionControlFilter(PoolMetricsRegistry poolMetrics, int maxConcurrent, int maxQueue,
+                                  long queueTimeoutMs, int maxPendingAcquisitions, int retryAfterSeconds) {
+        this.poolMetrics = poolMetrics;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        this.maxPendingAcquisitions = maxPendingAcquisitions;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (poolMetrics.maxPendingThreads() > maxPendingAcquisitions) {
+            reject(response, rejectedPoolPending, "커넥션 풀 대기 초과");
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            if (permits.getQueueLength() >= maxQueue) {
+                reject(response, rejectedQueueFull, "대기열 초과");
+                return;
+            }
+            if (!awaitPermit()) {
+                reject(response, rejectedQueueTimeout, "대기 시간 초과");
+                return;
+            }
+        }
+        try {
+            admitted.increment();
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean awaitPermit() {
+        try {
+            return permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response, LongAdder counter, String reason) throws IOException {
+        counter.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("요청이 많아 처리할 수 없습니다 (" + reason + "). 잠시 후 다시 시도해 주세요.");
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(admitted.sum(), rejectedPoolPending.sum(), rejectedQueueFull.sum(),
+                rejectedQueueTimeout.sum(), permits.availablePermits(), permits.getQueueLength());
+    }
+}
@@ -0,0 +1,18 @@
+package hello.itemservice.web.admission;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 입장 제어 누적 카운터와 현재 상태
+ */
+@Getter
+@RequiredArgsConstructor
+public class AdmissionStats {
+    private final long admitted;
+    private final long rejectedPoolPending;
+    private final long rejectedQueueFull;
+    private final long rejectedQueueTimeout;
+    private final int availablePermits;
+    private final int queued;
+}
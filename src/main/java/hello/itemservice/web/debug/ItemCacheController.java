@@ -0,0 +1,42 @@
+package hello.itemservice.web.debug;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import hello.itemservice.domain.item.ItemCache;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 아이템 캐시 상태 조회 (hit / miss / eviction)
+ */
+@RestController
+@RequestMapping("/debug/cache/items")
+@RequiredArgsConstructor
+public class ItemCacheController {
+
+    private final ObjectProvider<ItemCache> itemCache;
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        ItemCache cache = itemCache.getIfAvailable();
+        result.put("enabled", cache != null);
+        if (cache == null) {
+            return result;
+        }
+        CacheStats stats = cache.stats();
+        result.put("size", cache.size());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+}
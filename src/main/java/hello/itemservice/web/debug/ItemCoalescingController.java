@@ -0,0 +1,41 @@
+package hello.itemservice.web.debug;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hello.itemservice.service.item.ItemService;
+import hello.itemservice.service.item.SingleFlight;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 단건 동시 조회 합치기 상태 (실제 조회 수 / 합쳐진 호출 수 / 대기 시간 초과 수)
+ */
+@RestController
+@RequestMapping("/debug/coalescing/items")
+@RequiredArgsConstructor
+public class ItemCoalescingController {
+
+    private final ItemService itemService;
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        SingleFlight.Stats stats = itemService.itemLookupStats();
+        result.put("enabled", stats != null);
+        if (stats == null) {
+            return result;
+        }
+        long calls = stats.getExecutions() + stats.getCollapsed();
+        result.put("executions", stats.getExecutions());
+        result.put("collapsed", stats.getCollapsed());
+        result.put("collapseRate", calls == 0 ? 0.0 : (double) stats.getCollapsed() / calls);
+        result.put("sharedFailures", stats.getSharedFailures());
+        result.put("waitTimeouts", stats.getWaitTimeouts());
+        result.put("inFlight", stats.getInFlight());
+        return result;
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.web.debug;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
+import hello.itemservice.web.admission.AdmissionControlFilter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 커넥션 풀 / 입장 제어 상태 조회
+ * GET  /debug/pool       : 풀별 사용 중/유휴/대기 수, 타임아웃 수, 획득/사용 시간 분포 + 입장 제어 카운터
+ * POST /debug/pool/reset : 히스토그램 초기화
+ */
+@RestController
+@RequestMapping("/debug/pool")
+@RequiredArgsConstructor
+public class PoolMetricsController {
+
+    private final PoolMetricsRegistry poolMetrics;
+    private final ObjectProvider<AdmissionControlFilter> admissionControl;
+
+    @GetMapping
+    public Map<String, Object> pool() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pools", poolMetrics.snapshot());
+        AdmissionControlFilter filter = admissionControl.getIfAvailable();
+        result.put("admission", filter == null ? null : filter.stats());
+        return result;
+    }
+
+    @PostMapping("/reset")
+    public void reset() {
+        poolMetrics.reset();
+    }
+}
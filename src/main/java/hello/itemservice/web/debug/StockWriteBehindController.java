@@ -0,0 +1,42 @@
+package hello.itemservice.web.debug;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hello.itemservice.service.item.StockWriteBehind;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재고 write-behind 반영 상태 (합쳐진 증감 / 거절되어 버려진 증감 / 재시도로 미룬 반영)
+ * rejectedDeltas 가 0 이 아니면 이미 성공으로 응답한 재고 증감이 DB 에 반영되지 못한 것
+ */
+@RestController
+@RequestMapping("/debug/stock/write-behind")
+@RequiredArgsConstructor
+public class StockWriteBehindController {
+
+    private final ObjectProvider<StockWriteBehind> stockWriteBehind;
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        StockWriteBehind writeBehind = stockWriteBehind.getIfAvailable();
+        result.put("enabled", writeBehind != null);
+        if (writeBehind == null) {
+            return result;
+        }
+        StockWriteBehind.Stats stats = writeBehind.stats();
+        result.put("adjustments", stats.getAdjustments());
+        result.put("flushedUpdates", stats.getFlushedUpdates());
+        result.put("rejectedDeltas", stats.getRejectedDeltas());
+        result.put("rejectedUnits", stats.getRejectedUnits());
+        result.put("flushFailures", stats.getFlushFailures());
+        result.put("trackedItems", stats.getTrackedItems());
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.itemservice.web.debug;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import hello.itemservice.debug.trace.latency.LatencySnapshot;
+import hello.itemservice.debug.trace.latency.MethodLatencyRecorder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 트레이스 대상 메서드별 지연시간 분포 조회 (trace 프로필에서만 값이 쌓임)
+ * GET  /debug/trace/latency               : 마지막 reset 이후 누적
+ * GET  /debug/trace/latency?interval=true : 직전 interval 조회 이후 (조회 시 interval 재시작)
+ * POST /debug/trace/latency/reset         : 누적/interval 모두 초기화
+ */
+@RestController
+@RequestMapping("/debug/trace/latency")
+@RequiredArgsConstructor
+public class TraceLatencyController {
+
+    private final MethodLatencyRecorder latencyRecorder;
+
+    @GetMapping
+    public List<LatencySnapshot> latencies(@RequestParam(defaultValue = "false") boolean interval) {
+        return interval ? latencyRecorder.intervalSnapshot() : latencyRecorder.snapshot();
+    }
+
+    @PostMapping("/reset")
+    public void reset() {
+        latencyRecorder.reset();
+    }
+}
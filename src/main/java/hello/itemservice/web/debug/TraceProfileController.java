@@ -0,0 +1,58 @@
+package hello.itemservice.web.debug;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import hello.itemservice.debug.trace.profile.CallTreeProfile;
+import hello.itemservice.debug.trace.profile.CallTreeProfiler;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 호출 트리 프로파일 조회 (trace 프로필에서만 값이 쌓임, custom.trace.profile.window 마다 새 구간)
+ * GET  /debug/trace/profile        : 현재 구간 호출 트리 (JSON, ?previous=true 면 직전 구간)
+ * GET  /debug/trace/profile/folded : flame graph 용 collapsed-stack 형식 (값 = 자기 시간 μs)
+ * POST /debug/trace/profile/reset  : 현재/직전 구간 모두 비움
+ *
+ * curl -s localhost:8080/debug/trace/profile/folded?previous=true | flamegraph.pl > items.svg
+ */
+@RestController
+@RequestMapping("/debug/trace/profile")
+@RequiredArgsConstructor
+public class TraceProfileController {
+
+    private final ObjectProvider<CallTreeProfiler> profiler;
+
+    @GetMapping
+    public CallTreeProfile profile(@RequestParam(defaultValue = "false") boolean previous) {
+        CallTreeProfile profile = profiler().profile(previous);
+        if (profile == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "아직 끝난 구간이 없습니다.");
+        }
+        return profile;
+    }
+
+    @GetMapping(path = "/folded", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String folded(@RequestParam(defaultValue = "false") boolean previous) {
+        return profiler().folded(previous);
+    }
+
+    @PostMapping("/reset")
+    public void reset() {
+        profiler().reset();
+    }
+
+    private CallTreeProfiler profiler() {
+        CallTreeProfiler callTreeProfiler = profiler.getIfAvailable();
+        if (callTreeProfiler == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "호출 트리 프로파일이 꺼져 있습니다 (custom.trace.profile.enabled).");
+        }
+        return callTreeProfiler;
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.web.item.api;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import hello.itemservice.service.item.feed.ItemChangeEvent;
+import hello.itemservice.service.item.feed.ItemChangeFeed;
+import hello.itemservice.service.item.feed.ItemChangeSubscription;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품 변경 피드 (Server-Sent Events) - 목록 전체를 주기적으로 다시 읽는 대신 바뀐 것만 받는다
+ * GET /api/items/changes (재연결 시 브라우저 EventSource 가 Last-Event-ID 헤더를 보냄, 또는 ?since=sequence)
+ *
+ * event: ready  - 구독 시작. data = 현재 sequence
+ * event: reset  - 요청한 위치부터 이어 받을 수 없음 (보관 구간 밖 / 서버 재시작). 목록을 다시 읽을 것
+ * event: item   - 변경 한 건 (id = sequence)
+ * 느려서 대기열이 넘친 구독자는 연결을 끊는다 - 마지막으로 받은 id 로 재연결하면 이어 받는다.
+ *
+ * curl -N localhost:8080/api/items/changes?since=0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/items")
+public class ItemChangeFeedController {
+
+    private final ObjectProvider<ItemChangeFeed> changeFeed;
+    private final long emitterTimeoutMs;
+    private final long heartbeatMs;
+
+    public ItemChangeFeedController(ObjectProvider<ItemChangeFeed> changeFeed,
+                                    @Value("${custom.item.feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                    @Value("${custom.item.feed.heartbeat-ms:15000}") long heartbeatMs) {
+        this.changeFeed = changeFeed;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                              @RequestParam(required = false) Long since) {
+        ItemChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "변경 피드가 꺼져 있습니다 (custom.item.feed.enabled).");
+        }
+        Long after = lastEventId != null ? lastEventId : since;
+        ItemChangeSubscription subscription;
+        try {
+            subscription = feed.subscribe(after);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        // 구독자마다 보내는 스레드 하나 (가상 스레드라 대기 중에는 플랫폼 스레드를 잡지 않는다)
+        Thread sender = Thread.ofVirtual().name("item-feed-sender")
+                .unstarted(() -> stream(emitter, subscription, after != null && !subscription.isReset()));
+        Runnable stop = () -> {
+            subscription.close();
+            sender.interrupt();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(e -> stop.run());
+        sender.start();
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, ItemChangeSubscription subscription, boolean resumed) {
+        try {
+            SseEmitter.SseEventBuilder start = SseEmitter.event()
+                    .name(subscription.isReset() ? "reset" : "ready")
+                    .data(subscription.getStartSequence());
+            if (!resumed) {
+                // 이어 받는 중이 아니면 현재 위치가 곧 재연결 기준 (이어 받는 중이면 다시 보낼 이벤트의 id 로 갱신된다)
+                start.id(String.valueOf(subscription.getStartSequence()));
+            }
+            emitter.send(start);
+
+            while (!subscription.isClosed()) {
+                ItemChangeEvent event = subscription.poll(0, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    if (subscription.isOverflowed()) {
+                        // 대기열에 남은 것까지는 보냈다 - heartbeat 를 기다리지 않고 바로 끊어 마지막 id 로 재연결하게 한다
+                        emitter.complete();
+                        return;
+                    }
+                    event = subscription.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                }
+                if (event != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name("item")
+                            .data(event, MediaType.APPLICATION_JSON));
+                } else {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 완료된 emitter
+            log.debug("변경 피드 전송 중단: {}", e.toString());
+        } finally {
+            subscription.close();
+        }
+    }
+}
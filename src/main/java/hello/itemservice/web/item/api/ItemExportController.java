@@ -0,0 +1,77 @@
+package hello.itemservice.web.item.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemCsv;
+import hello.itemservice.service.item.ItemService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 전체 카탈로그 내보내기
+ * ResultSet 에서 읽히는 대로 서블릿 출력 스트림에 바로 쓰므로 테이블 크기와 무관하게 힙 사용량이 일정
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/export.csv")
+    public void exportCsv(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.csv\"");
+
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(ItemCsv.EXPORT_HEADER);
+        writer.write('\n');
+        itemService.exportItems(item -> {
+            try {
+                ItemCsv.writeRow(writer, item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    @GetMapping("/export.jsonl")
+    public void exportJsonLines(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.jsonl\"");
+
+        // 행마다 flush 하지 않도록 FLUSH_AFTER_WRITE_VALUE 를 끄고 버퍼 단위로만 내보낸다
+        try (SequenceWriter writer = objectMapper.writerFor(Item.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(new BufferedWriter(
+                        new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            itemService.exportItems(item -> {
+                try {
+                    writer.write(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
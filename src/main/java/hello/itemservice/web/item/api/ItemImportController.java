@@ -0,0 +1,31 @@
+package hello.itemservice.web.item.api;
+
+import java.io.IOException;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import hello.itemservice.service.item.ItemCsvImportService;
+import hello.itemservice.service.item.ItemImportResult;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CSV 대량 적재 API
+ * multipart 가 아닌 요청 본문(text/csv)을 그대로 스트리밍해서 파일 크기 제한/임시 파일 없이 처리
+ *
+ * curl -X POST -H 'Content-Type: text/csv' --data-binary @items.csv localhost:8080/api/items/import
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemImportController {
+
+    private final ItemCsvImportService importService;
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    public ItemImportResult importCsv(HttpServletRequest request) throws IOException {
+        return importService.importCsv(request.getInputStream());
+    }
+}
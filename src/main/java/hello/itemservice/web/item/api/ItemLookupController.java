@@ -0,0 +1,46 @@
+package hello.itemservice.web.item.api;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import hello.itemservice.service.item.ItemLookupResult;
+import hello.itemservice.service.item.ItemService;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 여러 상품 한 번에 조회 (장바구니, 주문 화면 등)
+ * id 목록이 길어 GET 쿼리 문자열 대신 JSON 본문으로 받는다
+ *
+ * curl -X POST -H 'Content-Type: application/json' -d '{"ids":[3,1,2]}' localhost:8080/api/items/lookup
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemLookupController {
+
+    private final ItemService itemService;
+
+    @PostMapping("/lookup")
+    public ItemLookupResult lookup(@RequestBody LookupRequest request) {
+        if (request.getIds() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids 가 필요합니다.");
+        }
+        try {
+            return itemService.findItemsByIds(request.getIds());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @Data
+    public static class LookupRequest {
+        private List<Long> ids;
+    }
+}
@@ -0,0 +1,36 @@
+package hello.itemservice.web.item.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import hello.itemservice.service.item.ItemService;
+import hello.itemservice.service.item.search.ItemSearchCondition;
+import hello.itemservice.service.item.search.ItemSearchResult;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 검색 API
+ * GET /api/items/search?name=ite&match=CONTAINS&minPrice=1000&maxPrice=5000&sort=PRICE_ASC&page=0&size=20
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemSearchController {
+
+    private final ItemService itemService;
+
+    @GetMapping("/search")
+    public ItemSearchResult search(@ModelAttribute ItemSearchCondition condition) {
+        try {
+            return itemService.searchItems(condition);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.web.item.api;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import hello.itemservice.service.item.analytics.CatalogAnalytics;
+import hello.itemservice.service.item.analytics.CatalogSummary;
+import hello.itemservice.service.item.analytics.LowStockReport;
+import hello.itemservice.service.item.analytics.PriceHistogram;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재고 분석 API (카탈로그 스냅샷 집계, 최근 변경은 refresh-interval-ms 만큼 늦게 반영될 수 있음)
+ * GET /api/items/stats                                  : 상품 수, 총 수량, 재고 가치, 품절 수, 가격 최소/최대/평균
+ * GET /api/items/stats/price-histogram?bounds=1000,5000 : 가격 구간별 상품 수/수량/재고 가치
+ * GET /api/items/stats/low-stock?threshold=5&limit=100  : 수량이 threshold 이하인 상품 (수량 오름차순)
+ */
+@RestController
+@RequestMapping("/api/items/stats")
+@RequiredArgsConstructor
+public class ItemStatsController {
+
+    private final ObjectProvider<CatalogAnalytics> catalogAnalytics;
+
+    @GetMapping
+    public CatalogSummary summary() {
+        return query(CatalogAnalytics::summary);
+    }
+
+    @GetMapping("/price-histogram")
+    public PriceHistogram priceHistogram(@RequestParam(required = false) int[] bounds) {
+        return query(analytics -> analytics.priceHistogram(bounds));
+    }
+
+    @GetMapping("/low-stock")
+    public LowStockReport lowStock(@RequestParam(defaultValue = "5") int threshold,
+                                   @RequestParam(defaultValue = "100") int limit) {
+        return query(analytics -> analytics.lowStock(threshold, limit));
+    }
+
+    private <T> T query(Function<CatalogAnalytics, T> query) {
+        CatalogAnalytics analytics = catalogAnalytics.getIfAvailable();
+        if (analytics == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "재고 분석이 꺼져 있습니다 (custom.item.analytics.enabled).");
+        }
+        try {
+            return query.apply(analytics);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
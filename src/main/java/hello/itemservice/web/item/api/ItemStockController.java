@@ -0,0 +1,56 @@
+package hello.itemservice.web.item.api;
+
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.InsufficientStockException;
+import hello.itemservice.service.item.ItemService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재고 증감 API - 주문 흐름처럼 같은 상품을 동시에 차감해도 갱신이 유실되지 않는다
+ * POST /api/items/{itemId}/stock/increase?delta=5
+ * POST /api/items/{itemId}/stock/decrease?delta=1   (재고 부족 시 409)
+ */
+@RestController
+@RequestMapping("/api/items/{itemId}/stock")
+@RequiredArgsConstructor
+public class ItemStockController {
+
+    private final ItemService itemService;
+
+    @PostMapping("/increase")
+    public Item increase(@PathVariable Long itemId, @RequestParam int delta) {
+        return adjust(itemId, requirePositive(delta));
+    }
+
+    @PostMapping("/decrease")
+    public Item decrease(@PathVariable Long itemId, @RequestParam int delta) {
+        return adjust(itemId, -requirePositive(delta));
+    }
+
+    private Item adjust(Long itemId, int delta) {
+        try {
+            return itemService.adjustStock(itemId, delta);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (InsufficientStockException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+    }
+
+    private static int requirePositive(int delta) {
+        if (delta <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "delta 는 1 이상이어야 합니다: " + delta);
+        }
+        return delta;
+    }
+}
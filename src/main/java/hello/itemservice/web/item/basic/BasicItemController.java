@@ -1,17 +1,25 @@
 package hello.itemservice.web.item.basic;
 
-import java.util.List;
+import java.util.NoSuchElementException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemPage;
 import hello.itemservice.service.item.ItemService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 
@@ -21,22 +29,53 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BasicItemController {
 
+    // 저장/수정 직후 리다이렉트된 상세 조회는 primary 에서 읽는다 (flash 속성이라 URL 에 남지 않음)
+    private static final String READ_YOUR_WRITES = "readYourWrites";
+
     private final ItemService itemService;
 
+    /**
+     * 목록/상세는 조건부 GET 지원 - 클라이언트(CDN)가 가진 ETag 가 응답할 내용과 같으면 템플릿을 거치지 않고 304.
+     * ETag 는 읽어 온 행으로 만들기 때문에 조회는 매번 한다 (복제본이 뒤처져도 본문과 ETag 가 어긋나지 않도록)
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemService.findItems();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size, Model model,
+                        WebRequest webRequest, HttpServletResponse response) {
+        ItemPage page;
+        try {
+            page = itemService.findItemPage(cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (notModified(ItemEtags.of(page), webRequest, response)) {
+            return null;
+        }
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "basic/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable Long itemId, Model model) {
-        Item item = itemService.findItem(itemId);
+    public String item(@PathVariable Long itemId, Model model,
+                       WebRequest webRequest, HttpServletResponse response) {
+        Item item = model.containsAttribute(READ_YOUR_WRITES)
+                ? itemService.findItemFromPrimary(itemId)
+                : itemService.findItem(itemId);
+        if (notModified(ItemEtags.of(item), webRequest, response)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "basic/item";
     }
 
+    private static boolean notModified(String etag, WebRequest webRequest, HttpServletResponse response) {
+        // 캐시는 하되 매번 재검증 (변경이 바로 보이도록)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Last-Modified 는 초 단위라 같은 초 안의 변경에 오래된 304 를 줄 수 있으므로 ETag 만 사용
+        return webRequest.checkNotModified(etag);
+    }
+
     @GetMapping("/add")
     public String addForm(Model model) {
         return "basic/addForm";
@@ -48,6 +87,7 @@ public class BasicItemController {
             Item savedItem = itemService.saveItem(item);
             redirectAttributes.addAttribute("itemId", savedItem.getId());
             redirectAttributes.addAttribute("status", true);
+            redirectAttributes.addFlashAttribute(READ_YOUR_WRITES, true);
             return "redirect:/basic/items/{itemId}";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "아이템 저장에 실패했습니다.");
@@ -63,10 +103,16 @@ public class BasicItemController {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, Item item) {
+    public String edit(@PathVariable Long itemId, Item item, RedirectAttributes redirectAttributes) {
         try {
             itemService.updateItem(itemId, item);
+            redirectAttributes.addFlashAttribute(READ_YOUR_WRITES, true);
             return "redirect:/basic/items/{itemId}";
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (OptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error", "다른 사용자가 먼저 수정했습니다. 최신 내용을 확인 후 다시 수정해 주세요.");
+            return "redirect:/basic/items/{itemId}/edit";
         } catch (Exception e) {
             return "redirect:/basic/items/{itemId}/edit";
         }
@@ -0,0 +1,38 @@
+package hello.itemservice.web.item.basic;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.DigestUtils;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemPage;
+
+/**
+ * 조건부 GET 용 강한 ETag - 실제로 응답에 담긴 행(id, DB version, 수량)에서 만든다.
+ * version 은 DB 행에 있으므로 인스턴스가 여러 개여도 같은 행이면 같은 ETag 이고,
+ * 복제본이 뒤처져 있으면 그 복제본이 돌려준 이전 버전의 ETag 가 붙는다 (최신 버전으로 오래된 본문을 가리키지 않음).
+ * 수량은 write-behind 로 아직 version 에 반영되지 않은 재고 증감을 구분하려고 넣는다.
+ */
+final class ItemEtags {
+
+    private ItemEtags() {
+    }
+
+    static String of(Item item) {
+        return "\"" + item.getId() + "-" + item.getVersion() + "-" + item.getQuantity() + "\"";
+    }
+
+    /**
+     * 목록 한 페이지 - 페이지 크기/다음 커서와 각 행의 (id, version, 수량)을 합친 해시
+     */
+    static String of(ItemPage page) {
+        StringBuilder content = new StringBuilder()
+                .append(page.getSize()).append('|').append(page.getNextCursor());
+        for (Item item : page.getItems()) {
+            content.append('|').append(item.getId())
+                    .append(':').append(item.getVersion())
+                    .append(':').append(item.getQuantity());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,13 @@
+-- item 테이블 DDL
+-- 기동 시 SchemaMigrationRunner 가 primary 에 적용하고, 임베디드 H2(벤치마크/테스트)에서는 스크립트로 적용한다.
+-- 모든 문장이 IF NOT EXISTS 라 반복 실행해도 안전하다.
+CREATE TABLE IF NOT EXISTS item (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_name VARCHAR(100) NOT NULL,
+    price     INT,
+    quantity  INT,
+    version   BIGINT DEFAULT 0 NOT NULL
+);
+
+-- version 컬럼이 없던 기존 DB 용
+ALTER TABLE item ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,86 @@
+package hello.itemservice.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import hello.itemservice.connection.DataSourceRoutingProperties.ReplicaSelection;
+
+/**
+ * 서로 다른 임베디드 H2 두 개(primary, replica)에 다른 데이터를 넣고 어느 쪽에서 읽는지로 라우팅 확인
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션만 복제본으로 라우팅")
+    void readOnlyTransactionGoesToReplica() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), ReplicaSelection.ROUND_ROBIN);
+        DataSource dataSource = lazy(routing);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        tx.setReadOnly(true);
+        String readOnlyDb = tx.execute(status -> whichDatabase(template));
+        assertThat(readOnlyDb).isEqualTo("replica");
+
+        tx.setReadOnly(false);
+        String readWriteDb = tx.execute(status -> whichDatabase(template));
+        assertThat(readWriteDb).isEqualTo("primary");
+
+        // 트랜잭션 밖 호출은 primary
+        assertThat(whichDatabase(template)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("라운드 로빈은 복제본을 번갈아 선택")
+    void roundRobinAlternatesReplicas() {
+        routing = new ReplicaRoutingDataSource(database("primary"),
+                List.of(database("replica-a"), database("replica-b")), ReplicaSelection.ROUND_ROBIN);
+        DataSource dataSource = lazy(routing);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(true);
+
+        assertThat(List.of(tx.execute(status -> whichDatabase(template)),
+                tx.execute(status -> whichDatabase(template)),
+                tx.execute(status -> whichDatabase(template))))
+                .containsExactly("replica-a", "replica-b", "replica-a");
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS which_db (name VARCHAR(20))");
+        template.update("DELETE FROM which_db");
+        template.update("INSERT INTO which_db VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource lazy(DataSource target) {
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    private static String whichDatabase(JdbcTemplate template) {
+        return template.queryForObject("SELECT name FROM which_db", String.class);
+    }
+}
@@ -0,0 +1,98 @@
+package hello.itemservice.debug.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.debug.trace.TraceSampling.Mode;
+import hello.itemservice.debug.trace.traceStatus.TraceStatus;
+
+class TraceSamplingTest {
+
+    @Test
+    @DisplayName("rate 와 버퍼 크기는 최소값으로 보정")
+    void clampsSettings() {
+        TraceSampling sampling = new TraceSampling(Mode.HEAD, 0, 10, 1);
+        assertThat(sampling.getRate()).isEqualTo(1);
+        assertThat(sampling.getMaxBufferedSpans()).isEqualTo(2);
+        assertThat(sampling.getSlowThresholdNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    @DisplayName("HEAD - rate 1 은 항상, rate n 은 대략 1/n 만 샘플링")
+    void headSampling() {
+        assertThat(new TraceSampling(Mode.HEAD, 1, 0, 2).sampleHead()).isTrue();
+
+        TraceSampling quarter = new TraceSampling(Mode.HEAD, 4, 0, 2);
+        int sampled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (quarter.sampleHead()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(4_000, 6_000);
+    }
+
+    @Test
+    @DisplayName("TAIL - 예외로 끝났거나 임계값 이상 걸린 루트만 출력 대상")
+    void tailDecision() {
+        TraceSampling sampling = new TraceSampling(Mode.TAIL, 1, 100, 16);
+        long threshold = TimeUnit.MILLISECONDS.toNanos(100);
+
+        assertThat(sampling.shouldFlushTail(threshold - 1, null)).isFalse();
+        assertThat(sampling.shouldFlushTail(threshold, null)).isTrue();
+        assertThat(sampling.shouldFlushTail(0, new IllegalStateException())).isTrue();
+    }
+
+    @Test
+    @DisplayName("TAIL - 빠르게 정상 종료된 트리는 출력하지 않고, 예외로 끝난 트리는 한꺼번에 출력")
+    void tailFlushesOnlyFailedTree() {
+        RecordingLogTrace logTrace = new RecordingLogTrace(new TraceSampling(Mode.TAIL, 1, 60_000, 16));
+
+        TraceStatus root = logTrace.begin("fast");
+        logTrace.end(logTrace.begin("child"));
+        logTrace.end(root);
+        assertThat(logTrace.lines).isEmpty();
+
+        root = logTrace.begin("failing");
+        logTrace.end(logTrace.begin("child"));
+        logTrace.exception(root, new IllegalStateException("boom"));
+        assertThat(logTrace.lines).containsExactly("B0:failing", "B1:child", "C1:child", "C0:failing!");
+    }
+
+    @Test
+    @DisplayName("HEAD - 루트에서 정한 결정을 하위 호출이 그대로 따른다")
+    void headDecisionCoversWholeTree() {
+        RecordingLogTrace logTrace = new RecordingLogTrace(new TraceSampling(Mode.HEAD, 1, 0, 2));
+
+        TraceStatus root = logTrace.begin("root");
+        logTrace.end(logTrace.begin("child"));
+        logTrace.end(root);
+
+        assertThat(logTrace.lines).containsExactly("B0:root", "B1:child", "C1:child", "C0:root");
+    }
+
+    // 로그 대신 출력 내용을 모아 두는 트레이스
+    private static class RecordingLogTrace extends ThreadLocalLogTrace {
+        private final List<String> lines = new ArrayList<>();
+
+        RecordingLogTrace(TraceSampling sampling) {
+            super(sampling);
+        }
+
+        @Override
+        protected void writeBegin(String traceId, int level, String message) {
+            lines.add("B" + level + ":" + message);
+        }
+
+        @Override
+        protected void writeComplete(String traceId, int level, String message, long elapsedNanos, Exception e) {
+            lines.add("C" + level + ":" + message + (e != null ? "!" : ""));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package hello.itemservice.debug.trace.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.debug.trace.TraceSampling;
+import hello.itemservice.debug.trace.TraceSampling.Mode;
+import hello.itemservice.debug.trace.async.AsyncLogTrace.OverflowPolicy;
+
+class AsyncLogTraceTest {
+
+    @Test
+    @DisplayName("종료와 동시에 쓰던 이벤트도 빠짐없이 출력된다 (writer 가 비우거나 호출 스레드가 직접)")
+    void noEventLostAcrossShutdown() throws Exception {
+        int producers = 4;
+        CountingLogTrace trace = new CountingLogTrace(16);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    long written = 0;
+                    while (!stop.get()) {
+                        trace.writeBegin("t", 0, "m");
+                        written++;
+                    }
+                    return written;
+                }));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(20);
+
+            trace.shutdown();
+            // 종료 후 쓰기는 호출 스레드에서 바로 출력
+            Thread.sleep(5);
+            stop.set(true);
+
+            long written = 0;
+            for (Future<Long> future : futures) {
+                written += future.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(trace.getDroppedCount()).isZero();
+            assertThat(trace.printed.sum()).isEqualTo(written);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 출력 대신 개수만 센다
+    private static class CountingLogTrace extends AsyncLogTrace {
+        private final LongAdder printed = new LongAdder();
+
+        CountingLogTrace(int bufferSize) {
+            super(new TraceSampling(Mode.ALL, 1, 0, 2), bufferSize, OverflowPolicy.BLOCK, 5000);
+        }
+
+        @Override
+        protected void printBegin(String traceId, int level, String message) {
+            printed.increment();
+        }
+    }
+}
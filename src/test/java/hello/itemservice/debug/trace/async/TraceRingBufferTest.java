@@ -0,0 +1,146 @@
+package hello.itemservice.debug.trace.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TraceRingBufferTest {
+
+    @Test
+    @DisplayName("용량은 요청 값 이상인 가장 작은 2의 거듭제곱 (최소 4)")
+    void capacityIsPowerOfTwo() {
+        assertThat(new TraceRingBuffer(1).capacity()).isEqualTo(4);
+        assertThat(new TraceRingBuffer(3).capacity()).isEqualTo(4);
+        assertThat(new TraceRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new TraceRingBuffer(1024).capacity()).isEqualTo(1024);
+        assertThat(new TraceRingBuffer(1025).capacity()).isEqualTo(2048);
+    }
+
+    @Test
+    @DisplayName("가득 차면 claim 이 -1, 꺼낸 만큼 다시 쓸 수 있고 여러 바퀴 돌아도 순서 유지")
+    void fullAndWrapAround() {
+        TraceRingBuffer buffer = new TraceRingBuffer(4);
+        List<String> received = new ArrayList<>();
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                offer(buffer, "m" + (round * 4 + i));
+            }
+            assertThat(buffer.tryClaim()).isEqualTo(-1);
+            while (buffer.poll(event -> received.add(event.message))) {
+            }
+        }
+
+        assertThat(received).hasSize(40);
+        for (int i = 0; i < 40; i++) {
+            assertThat(received.get(i)).isEqualTo("m" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("자리만 잡고 아직 publish 하지 않은 슬롯은 뒤 슬롯이 publish 돼도 건너뛰지 않는다")
+    void unpublishedSlotBlocksConsumer() {
+        TraceRingBuffer buffer = new TraceRingBuffer(4);
+        long first = buffer.tryClaim();
+        offer(buffer, "second");
+        List<String> received = new ArrayList<>();
+
+        assertThat(buffer.poll(event -> received.add(event.message))).isFalse();
+
+        buffer.slot(first).message = "first";
+        buffer.publish(first);
+        while (buffer.poll(event -> received.add(event.message))) {
+        }
+        assertThat(received).containsExactly("first", "second");
+    }
+
+    @Test
+    @DisplayName("handler 가 예외를 던져도 슬롯은 비워서 반환된다")
+    void handlerFailureReleasesSlot() {
+        TraceRingBuffer buffer = new TraceRingBuffer(2);
+        offer(buffer, "boom");
+        offer(buffer, "next");
+        TraceEvent[] failed = new TraceEvent[1];
+
+        assertThatThrownBy(() -> buffer.poll(event -> {
+            failed[0] = event;
+            throw new IllegalStateException("handler");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(failed[0].message).isNull();
+        assertThat(buffer.tryClaim()).isNotEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 써도 빠짐 없이, 생산자별 순서대로 소비된다")
+    void multipleProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        TraceRingBuffer buffer = new TraceRingBuffer(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String producer = Integer.toString(p);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        long position;
+                        // 가득 차면 소비자에게 CPU 를 양보하며 재시도 (코어가 적은 환경에서도 진행되도록)
+                        while ((position = buffer.tryClaim()) < 0) {
+                            Thread.yield();
+                        }
+                        TraceEvent event = buffer.slot(position);
+                        event.traceId = producer;
+                        event.level = i;
+                        buffer.publish(position);
+                    }
+                    return null;
+                }));
+            }
+
+            int[] nextLevel = new int[producers];
+            int[] consumed = new int[1];
+            start.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (consumed[0] < producers * perProducer && System.nanoTime() < deadline) {
+                boolean polled = buffer.poll(event -> {
+                    int producer = Integer.parseInt(event.traceId);
+                    assertThat(event.level).isEqualTo(nextLevel[producer]);
+                    nextLevel[producer]++;
+                    consumed[0]++;
+                });
+                if (!polled) {
+                    Thread.yield();
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(consumed[0]).isEqualTo(producers * perProducer);
+            assertThat(nextLevel).containsOnly(perProducer);
+            assertThat(buffer.poll(event -> { })).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void offer(TraceRingBuffer buffer, String message) {
+        long position = buffer.tryClaim();
+        assertThat(position).isNotNegative();
+        buffer.slot(position).message = message;
+        buffer.publish(position);
+    }
+}
@@ -0,0 +1,74 @@
+package hello.itemservice.debug.trace.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CallTreeProfilerTest {
+
+    private final CallTreeProfiler profiler = new CallTreeProfiler(Duration.ofHours(1), 4, 8);
+
+    @AfterEach
+    void tearDown() {
+        profiler.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 호출 경로는 한 노드로 합치고, 자기 시간 = 전체 - 자식")
+    void mergesPaths() {
+        for (int i = 0; i < 3; i++) {
+            int controller = profiler.enter("ItemController.item()");
+            int service = profiler.enter("ItemService.findItem()");
+            int repository = profiler.enter("ItemRepository.findById()");
+            work();
+            profiler.exit(repository, false);
+            profiler.exit(service, i == 2);
+            work();
+            profiler.exit(controller, false);
+        }
+
+        CallTreeNode root = profiler.profile(false).getRoot();
+        CallTreeNode controller = root.getChildren().get(0);
+        CallTreeNode service = controller.getChildren().get(0);
+        CallTreeNode repository = service.getChildren().get(0);
+        assertThat(root.getCalls()).isEqualTo(3);
+        assertThat(controller.getCalls()).isEqualTo(3);
+        assertThat(service.getErrors()).isEqualTo(1);
+        assertThat(controller.getSelfMs()).isCloseTo(controller.getTotalMs() - service.getTotalMs(),
+                offset(0.001));
+        assertThat(repository.getSelfMs()).isEqualTo(repository.getTotalMs());
+
+        assertThat(profiler.folded(false).lines())
+                .anyMatch(line -> line.startsWith("ItemController.item();ItemService.findItem();ItemRepository.findById() "))
+                .anyMatch(line -> line.startsWith("ItemController.item() "));
+    }
+
+    @Test
+    @DisplayName("노드 수가 max-nodes 를 넘으면 새 경로는 (other) 로 합치고, 구간 교체 후 직전 구간으로 조회")
+    void boundsNodesAndRotates() {
+        for (int i = 0; i < 10; i++) {
+            profiler.exit(profiler.enter("Root.method" + i + "()"), false);
+        }
+
+        CallTreeProfile profile = profiler.profile(false);
+        assertThat(profile.isTruncated()).isTrue();
+        assertThat(profile.getRoot().getChildren()).hasSize(5)
+                .anyMatch(node -> node.getName().equals(CallTreeProfiler.OTHER) && node.getCalls() == 6);
+
+        profiler.rotate();
+        assertThat(profiler.profile(false).getRoot().getCalls()).isZero();
+        assertThat(profiler.profile(true).getRoot().getCalls()).isEqualTo(10);
+        assertThat(profiler.profile(true).getWindowEnd()).isNotNull();
+    }
+
+    private static void work() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+    }
+}
@@ -0,0 +1,155 @@
+package hello.itemservice.debug.trace.propagation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.debug.trace.ThreadLocalLogTrace;
+import hello.itemservice.debug.trace.traceStatus.TraceSnapshot;
+import hello.itemservice.debug.trace.traceStatus.TraceStatus;
+
+class TraceContextPropagationTest {
+
+    private final ThreadLocalLogTrace logTrace = new ThreadLocalLogTrace();
+    // 작업이 끝난 뒤 같은 워커 스레드의 상태를 다시 보려고 스레드 하나짜리 풀을 쓴다
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("TraceContextExecutor - 워커에서 같은 트레이스 id, 부모 레벨 + 1 로 이어지고 끝나면 비워진다")
+    void executor() throws Exception {
+        TraceStatus parent = logTrace.begin("parent");
+        String traceId = parent.getTraceId().getId();
+        CompletableFuture<Frame> observed = new CompletableFuture<>();
+        try {
+            new TraceContextExecutor(worker, logTrace).execute(() -> observed.complete(childFrame()));
+            assertThat(observed.get(5, TimeUnit.SECONDS)).isEqualTo(new Frame(traceId, 1));
+            assertCallerUnchanged(traceId);
+        } finally {
+            logTrace.end(parent);
+        }
+        assertWorkerCleared();
+    }
+
+    @Test
+    @DisplayName("TraceContextExecutorService - submit/invokeAll 모두 트레이스를 이어받는다")
+    void executorService() throws Exception {
+        TraceContextExecutorService executor = new TraceContextExecutorService(worker, logTrace);
+        TraceStatus parent = logTrace.begin("parent");
+        String traceId = parent.getTraceId().getId();
+        try {
+            TraceStatus nested = logTrace.begin("nested");
+            try {
+                Callable<Frame> task = this::childFrame;
+                assertThat(executor.submit(task).get(5, TimeUnit.SECONDS)).isEqualTo(new Frame(traceId, 2));
+                for (Future<Frame> future : executor.invokeAll(List.of(task, task))) {
+                    assertThat(future.get()).isEqualTo(new Frame(traceId, 2));
+                }
+            } finally {
+                logTrace.end(nested);
+            }
+            assertCallerUnchanged(traceId);
+        } finally {
+            logTrace.end(parent);
+        }
+        assertWorkerCleared();
+    }
+
+    @Test
+    @DisplayName("TraceTaskDecorator - 스프링 TaskExecutor 에 적용되는 작업도 트레이스를 이어받는다")
+    void taskDecorator() throws Exception {
+        TraceStatus parent = logTrace.begin("parent");
+        String traceId = parent.getTraceId().getId();
+        CompletableFuture<Frame> observed = new CompletableFuture<>();
+        try {
+            Runnable decorated = new TraceTaskDecorator(logTrace).decorate(() -> observed.complete(childFrame()));
+            worker.execute(decorated);
+            assertThat(observed.get(5, TimeUnit.SECONDS)).isEqualTo(new Frame(traceId, 1));
+        } finally {
+            logTrace.end(parent);
+        }
+        assertWorkerCleared();
+    }
+
+    @Test
+    @DisplayName("TracedCompletableFutures.fanOut - 입력 순서대로 모으고 각 작업이 트레이스를 이어받는다")
+    void completableFutures() throws Exception {
+        TraceStatus parent = logTrace.begin("parent");
+        String traceId = parent.getTraceId().getId();
+        try {
+            List<Frame> frames = TracedCompletableFutures
+                    .fanOut(logTrace, List.of(1, 2, 3), input -> childFrame(), worker)
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(frames).containsExactly(new Frame(traceId, 1), new Frame(traceId, 1), new Frame(traceId, 1));
+
+            Frame supplied = TracedCompletableFutures.supplyAsync(logTrace, this::childFrame, worker)
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(supplied).isEqualTo(new Frame(traceId, 1));
+        } finally {
+            logTrace.end(parent);
+        }
+        assertWorkerCleared();
+    }
+
+    @Test
+    @DisplayName("호출 스레드에서 바로 실행돼도 진행 중인 프레임을 건드리지 않는다")
+    void callerRuns() {
+        TraceStatus parent = logTrace.begin("parent");
+        String traceId = parent.getTraceId().getId();
+        Frame[] observed = new Frame[1];
+        try {
+            new TraceContextExecutor(Runnable::run, logTrace).execute(() -> observed[0] = childFrame());
+            assertThat(observed[0]).isEqualTo(new Frame(traceId, 1));
+            assertCallerUnchanged(traceId);
+        } finally {
+            logTrace.end(parent);
+        }
+        assertThat(logTrace.capture()).isNull();
+    }
+
+    @Test
+    @DisplayName("진행 중인 트레이스가 없으면 작업을 감싸지 않는다")
+    void noTrace() {
+        Runnable task = () -> { };
+        assertThat(TraceContextPropagation.wrap(logTrace, task)).isSameAs(task);
+    }
+
+    // 작업 안에서 한 단계 더 들어간 프레임 (TraceStatus 는 재사용되므로 end 전에 값을 복사)
+    private Frame childFrame() {
+        TraceStatus status = logTrace.begin("child");
+        try {
+            return new Frame(status.getTraceId().getId(), status.getLevel());
+        } finally {
+            logTrace.end(status);
+        }
+    }
+
+    private void assertCallerUnchanged(String traceId) {
+        TraceSnapshot current = logTrace.capture();
+        assertThat(current.getTraceId()).isEqualTo(traceId);
+        assertThat(current.getLevel()).isZero();
+    }
+
+    // 감싸지 않은 작업으로 워커 스레드에 남은 트레이스가 없는지 확인
+    private void assertWorkerCleared() throws Exception {
+        Callable<TraceSnapshot> capture = logTrace::capture;
+        assertThat(worker.submit(capture).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    private record Frame(String traceId, int level) {
+    }
+}
@@ -0,0 +1,102 @@
+package hello.itemservice.debug.trace.traceStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TraceSpanBufferTest {
+
+    @Test
+    @DisplayName("초기 용량(32)을 넘어도 maxSpans 까지 늘어나며 순서대로 재생")
+    void growsPastInitialCapacity() {
+        TraceSpanBuffer buffer = new TraceSpanBuffer(200);
+        for (int i = 0; i < 50; i++) {
+            buffer.addBegin(i + 1, "m" + i);
+        }
+        for (int i = 49; i >= 0; i--) {
+            buffer.addComplete(i + 1, "m" + i, i, null);
+        }
+        buffer.addRootComplete(0, "root", 100, null);
+
+        List<String> spans = replay(buffer);
+        assertThat(spans).hasSize(101);
+        assertThat(spans.get(0)).isEqualTo("B1:m0");
+        assertThat(spans.get(49)).isEqualTo("B50:m49");
+        assertThat(spans.get(50)).isEqualTo("C50:m49");
+        assertThat(spans.get(100)).isEqualTo("C0:root");
+        assertThat(buffer.getDropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("가득 차면 이후 span 은 버리고 세지만 마지막 칸은 루트 종료 몫으로 남긴다")
+    void reservesSlotForRootComplete() {
+        TraceSpanBuffer buffer = new TraceSpanBuffer(40);
+        buffer.addBegin(0, "root");
+        for (int i = 0; i < 60; i++) {
+            buffer.addBegin(1, "child" + i);
+        }
+        buffer.addComplete(1, "late", 1, null);
+        buffer.addRootComplete(0, "root", 100, new IllegalStateException("root"));
+
+        List<String> spans = replay(buffer);
+        assertThat(spans).hasSize(40);
+        assertThat(spans.get(38)).isEqualTo("B1:child37");
+        assertThat(spans.get(39)).isEqualTo("C0:root!");
+        assertThat(buffer.getDropped()).isEqualTo(23);
+    }
+
+    @Test
+    @DisplayName("전파받은 컨텍스트처럼 루트 레벨이 0 이 아니어도 루트 종료 칸은 남아 있다")
+    void reservesSlotForPropagatedRoot() {
+        TraceSpanBuffer buffer = new TraceSpanBuffer(4);
+        buffer.addBegin(3, "async");
+        for (int i = 0; i < 5; i++) {
+            buffer.addBegin(4, "child" + i);
+        }
+        buffer.addComplete(4, "late", 1, null);
+        buffer.addRootComplete(3, "async", 10, null);
+
+        assertThat(replay(buffer)).containsExactly("B3:async", "B4:child0", "B4:child1", "C3:async");
+        assertThat(buffer.getDropped()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("maxSpans 가 초기 용량보다 작으면 그 크기로 시작")
+    void smallMax() {
+        TraceSpanBuffer buffer = new TraceSpanBuffer(3);
+        buffer.addBegin(0, "root");
+        buffer.addBegin(1, "a");
+        buffer.addBegin(2, "b");
+        buffer.addRootComplete(0, "root", 1, null);
+
+        assertThat(replay(buffer)).containsExactly("B0:root", "B1:a", "C0:root");
+        assertThat(buffer.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("clear 후에는 비어 있고 다시 쓸 수 있다")
+    void clearResets() {
+        TraceSpanBuffer buffer = new TraceSpanBuffer(2);
+        buffer.addBegin(0, "root");
+        buffer.addBegin(1, "dropped");
+        buffer.clear();
+
+        assertThat(replay(buffer)).isEmpty();
+        assertThat(buffer.getDropped()).isZero();
+
+        buffer.addBegin(0, "next");
+        assertThat(replay(buffer)).containsExactly("B0:next");
+    }
+
+    // B/C + 레벨 + 메시지, 예외 종료는 끝에 ! 를 붙여 비교하기 쉬운 문자열로
+    private static List<String> replay(TraceSpanBuffer buffer) {
+        List<String> spans = new ArrayList<>();
+        buffer.replay((begin, level, message, elapsedNanos, e) ->
+                spans.add((begin ? "B" : "C") + level + ":" + message + (e != null ? "!" : "")));
+        return spans;
+    }
+}
@@ -0,0 +1,89 @@
+package hello.itemservice.domain.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import hello.itemservice.connection.ReplicaRoutingDataSource;
+
+class CachingItemRepositoryTest {
+
+    private final ItemRepository delegate = mock(ItemRepository.class);
+    private final ReplicaRoutingDataSource routing = mock(ReplicaRoutingDataSource.class);
+    private ItemCache cache;
+    private CachingItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemCache(100, Duration.ofMinutes(1));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ReplicaRoutingDataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(routing);
+        repository = new CachingItemRepository(delegate, cache, provider);
+    }
+
+    @Test
+    @DisplayName("primary 에서 읽은 값은 캐시하고 다음 조회는 원본을 거치지 않는다")
+    void cachesPrimaryRead() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(item(1L, 10)));
+
+        repository.findById(1L);
+        repository.findById(1L);
+
+        verify(delegate, times(1)).findById(1L);
+        assertThat(cache.get(1L)).map(Item::getQuantity).contains(10);
+    }
+
+    @Test
+    @DisplayName("읽는 도중 무효화되면 읽은 값은 캐시에 넣지 않는다")
+    void staleLoadIsNotCached() {
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            // 다른 스레드의 update 가 이 시점에 끝난 상황
+            cache.invalidate(1L);
+            return Optional.of(item(1L, 10));
+        });
+        when(delegate.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            cache.invalidate(2L);
+            return List.of(item(2L, 20), item(3L, 30));
+        });
+
+        assertThat(repository.findById(1L)).isPresent();
+        assertThat(repository.findAllByIds(List.of(2L, 3L))).hasSize(2);
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("복제본에서 읽은 값은 캐시에 넣지 않는다")
+    void replicaReadIsNotCached() {
+        when(routing.routesToReplica()).thenReturn(true);
+        when(delegate.findById(1L)).thenReturn(Optional.of(item(1L, 10)));
+        when(delegate.findAllByIds(anyCollection())).thenReturn(List.of(item(2L, 20)));
+
+        assertThat(repository.findById(1L)).isPresent();
+        assertThat(repository.findAllByIds(List.of(2L))).hasSize(1);
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isEmpty();
+    }
+
+    private static Item item(Long id, int quantity) {
+        Item item = new Item("item-" + id, 1000, quantity);
+        item.setId(id);
+        return item;
+    }
+}
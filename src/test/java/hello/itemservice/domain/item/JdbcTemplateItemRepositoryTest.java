@@ -0,0 +1,87 @@
+package hello.itemservice.domain.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * IN 목록 조회 (임베디드 H2, 스프링 컨텍스트 없이)
+ * 바인드 변수를 2의 거듭제곱으로 채우는 패딩과 MAX_IN_LIST 단위 분할 경계에서 결과가 달라지지 않아야 한다.
+ */
+class JdbcTemplateItemRepositoryTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplateItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:in-list;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        repository = new JdbcTemplateItemRepository(dataSource, 500, 1000);
+        repository.clearStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("바인드 변수 개수는 id 개수 이상인 가장 작은 2의 거듭제곱")
+    void slotsArePowerOfTwo() {
+        assertThat(JdbcTemplateItemRepository.inListSlots(1)).isEqualTo(1);
+        assertThat(JdbcTemplateItemRepository.inListSlots(2)).isEqualTo(2);
+        assertThat(JdbcTemplateItemRepository.inListSlots(3)).isEqualTo(4);
+        assertThat(JdbcTemplateItemRepository.inListSlots(5)).isEqualTo(8);
+        assertThat(JdbcTemplateItemRepository.inListSlots(JdbcTemplateItemRepository.MAX_IN_LIST))
+                .isEqualTo(JdbcTemplateItemRepository.MAX_IN_LIST);
+    }
+
+    @ParameterizedTest(name = "{0}개")
+    @ValueSource(ints = {1, 2, 3, 256, 257})
+    @DisplayName("중복/없는 id 가 섞여도 있는 상품만 한 번씩 조회")
+    void findAllByIds(int count) {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            saved.add(repository.save(new Item("item-" + i, 1000, i)).getId());
+        }
+        long missing = saved.get(saved.size() - 1) + 1_000;
+
+        // 역순 + 패딩 자리에 쓰이는 마지막 id 와 앞쪽 id 중복 + 없는 id
+        List<Long> requested = new ArrayList<>(saved);
+        Collections.reverse(requested);
+        requested.add(saved.get(0));
+        requested.add(missing);
+        requested.add(saved.get(saved.size() - 1));
+
+        List<Item> found = repository.findAllByIds(requested);
+
+        assertThat(found).extracting(Item::getId).containsExactlyInAnyOrderElementsOf(saved);
+        assertThat(found).extracting(Item::getQuantity).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("없는 id 만 요청하거나 빈 목록이면 빈 결과")
+    void findAllByIdsMissingOnly() {
+        assertThat(repository.findAllByIds(List.of(-1L, -2L, -3L))).isEmpty();
+        assertThat(repository.findAllByIds(new LinkedHashSet<>())).isEmpty();
+    }
+}
@@ -0,0 +1,133 @@
+package hello.itemservice.domain.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 인기 상품 한 건에 재고 차감이 몰리는 상황 (임베디드 H2, 스프링 컨텍스트 없이)
+ * 재고보다 많은 차감 요청을 동시에 보내도 정확히 재고만큼만 성공하고 음수가 되지 않아야 한다.
+ */
+@Slf4j
+class StockAdjustmentConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+    private static final int INITIAL_STOCK = 10_000;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplateItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:stock;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(THREADS / 2);
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        repository = new JdbcTemplateItemRepository(dataSource, 500, 1000);
+        repository.clearStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("동시 차감 - 유실 없이 재고만큼만 성공")
+    void concurrentDecrementsNeverOversell() throws Exception {
+        Long itemId = repository.save(new Item("hot", 1000, INITIAL_STOCK)).getId();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long startNanos;
+        try (ExecutorService workers = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(workers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (repository.adjustQuantity(itemId, -1).isPresent()) {
+                            succeeded.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("hot item: {} attempts, {} succeeded, {} rejected in {} ms ({} ops/s)",
+                attempts, succeeded.get(), rejected.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                attempts * 1_000_000_000L / Math.max(1, elapsedNanos));
+
+        Item item = repository.findById(itemId).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(attempts - INITIAL_STOCK);
+        assertThat(item.getQuantity()).isZero();
+        assertThat(item.getVersion()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    @DisplayName("같은 버전으로 두 번 수정하면 두 번째는 충돌")
+    void staleVersionIsRejected() {
+        Item saved = repository.save(new Item("itemA", 1000, 10));
+        Item first = saved.copy();
+        first.setPrice(2000);
+        Item second = saved.copy();
+        second.setPrice(3000);
+
+        repository.update(saved.getId(), first);
+
+        assertThatThrownBy(() -> repository.update(saved.getId(), second))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        Item current = repository.findById(saved.getId()).orElseThrow();
+        assertThat(current.getPrice()).isEqualTo(2000);
+        assertThat(current.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("없는 id 수정은 버전 유무와 관계없이 EmptyResultDataAccessException")
+    void missingItemIsReported() {
+        Item updateParam = new Item("itemA", 1000, 10);
+
+        assertThatThrownBy(() -> repository.update(Long.MAX_VALUE, updateParam))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+        updateParam.setVersion(0L);
+        assertThatThrownBy(() -> repository.update(Long.MAX_VALUE, updateParam))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+    }
+}
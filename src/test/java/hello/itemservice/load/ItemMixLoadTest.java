@@ -0,0 +1,106 @@
+package hello.itemservice.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.service.item.ItemCursor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 목록/상세/등록/수정을 섞은 BasicItemController 부하 테스트 (임베디드 H2 + 시드 데이터, 외부 서버 불필요)
+ * ./gradlew loadTest -Dload.items=1000000 -Dload.mix=list:20,detail:70,add:5,edit:5 -Dload.concurrency=200
+ * 같은 load.seed 면 같은 데이터로 기동하므로 실행 간 결과를 비교할 수 있다. 리다이렉트(302)는 성공으로 본다.
+ * 종류별 오류율이 load.max-error-rate(기본 1%)를 넘으면 실패한다.
+ */
+@Slf4j
+@Tag("load")
+class ItemMixLoadTest {
+
+    private static final int ITEMS = Integer.getInteger("load.items", 100_000);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final String MIX = System.getProperty("load.mix", "list:20,detail:70,add:5,edit:5");
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 100);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 15));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final int PAGE_SIZE = 20;
+
+    @Test
+    @DisplayName("목록/상세/등록/수정 혼합 트래픽 처리량/지연시간")
+    void replayMix() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0",
+                        "--spring.profiles.active=embedded",
+                        "--custom.seed.items=" + ITEMS,
+                        "--custom.seed.seed=" + SEED,
+                        // 넘친 요청이 503 으로 바로 끝나 처리량/지연시간이 좋아 보이지 않도록 입장 제어는 끔
+                        "--custom.admission.enabled=false")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadMix mix = LoadMix.parse(MIX, requests(baseUrl));
+
+            new LoadDriver(CONCURRENCY, WARMUP).runMix("warmup", mix);
+            List<LoadDriver.LoadResult> results = new LoadDriver(CONCURRENCY, DURATION).runMix("mix " + MIX, mix);
+
+            log.info("items={} seed={} concurrency={} duration={}", ITEMS, SEED, CONCURRENCY, DURATION);
+            results.forEach(result -> log.info(result.summary()));
+
+            assertThat(results.get(0).getRequests()).isPositive();
+            // 실패가 많으면 지연시간 분포(성공 요청만)가 대표성을 잃으므로 결과 자체를 실패로 본다
+            for (LoadDriver.LoadResult result : results) {
+                assertThat(result.errorRate()).as(result.getName().strip()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+            }
+        }
+    }
+
+    private static Map<String, Supplier<HttpRequest>> requests(String baseUrl) {
+        return Map.of(
+                "list", () -> get(baseUrl + "/basic/items?size=" + PAGE_SIZE
+                        + "&cursor=" + ItemCursor.encode(randomId())),
+                "detail", () -> get(baseUrl + "/basic/items/" + randomId()),
+                "add", () -> postForm(baseUrl + "/basic/items/add", randomForm("load-add")),
+                "edit", () -> postForm(baseUrl + "/basic/items/" + randomId() + "/edit", randomForm("load-edit")));
+    }
+
+    // 시드 데이터 id 는 1..ITEMS (등록 요청으로 늘어난 상품은 대상에서 제외)
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ITEMS + 1L);
+    }
+
+    private static String randomForm(String prefix) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "itemName=" + URLEncoder.encode(prefix + "-" + random.nextInt(1_000_000), StandardCharsets.UTF_8)
+                + "&price=" + (random.nextInt(1, 1000) * 100)
+                + "&quantity=" + random.nextInt(0, 500);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest postForm(String url, String form) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+}
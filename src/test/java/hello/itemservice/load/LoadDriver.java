@@ -0,0 +1,143 @@
+package hello.itemservice.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 고정 동시성(closed-loop) HTTP 부하 생성기
+ * 가상 스레드 워커 concurrency 개가 duration 동안 응답을 받는 즉시 다음 요청을 보낸다.
+ * 클라이언트 쪽 스레드가 병목이 되지 않도록 워커는 가상 스레드로 띄운다.
+ * 요청 수와 처리량은 실패를 포함하고, 지연시간 분포는 성공(4xx/5xx 가 아닌) 요청만으로 낸다.
+ */
+public class LoadDriver {
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration duration;
+
+    public LoadDriver(int concurrency, Duration duration) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.concurrency = concurrency;
+        this.duration = duration;
+    }
+
+    public LoadResult run(String name, Supplier<HttpRequest> requests) throws Exception {
+        return runMix(name, new LoadMix().add(name, 1, requests)).get(0);
+    }
+
+    /**
+     * 요청 종류별 가중치(mix)대로 섞어서 보낸다
+     * @return 전체 결과 + 종류별 결과 (mix 에 추가한 순서)
+     */
+    public List<LoadResult> runMix(String name, LoadMix mix) throws Exception {
+        int operations = mix.size();
+        Recorder total = new Recorder(3);
+        Recorder[] recorders = new Recorder[operations];
+        LongAdder[] completed = new LongAdder[operations];
+        LongAdder[] errors = new LongAdder[operations];
+        for (int op = 0; op < operations; op++) {
+            recorders[op] = new Recorder(3);
+            completed[op] = new LongAdder();
+            errors[op] = new LongAdder();
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        long startNanos = System.nanoTime();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int op = mix.pick(ThreadLocalRandom.current());
+                        long sentNanos = System.nanoTime();
+                        boolean succeeded;
+                        try {
+                            HttpResponse<Void> response = client.send(mix.request(op),
+                                    HttpResponse.BodyHandlers.discarding());
+                            succeeded = response.statusCode() < 400;
+                        } catch (Exception e) {
+                            succeeded = false;
+                        }
+                        long latencyNanos = System.nanoTime() - sentNanos;
+                        completed[op].increment();
+                        // 빨리 끝나는 거절/실패가 지연시간 분포를 낮춰 보이게 하지 않도록 성공한 요청만 기록
+                        if (succeeded) {
+                            recorders[op].recordValue(latencyNanos);
+                            total.recordValue(latencyNanos);
+                        } else {
+                            errors[op].increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        List<LoadResult> results = new ArrayList<>(operations + 1);
+        long allRequests = 0;
+        long allErrors = 0;
+        for (int op = 0; op < operations; op++) {
+            allRequests += completed[op].sum();
+            allErrors += errors[op].sum();
+        }
+        results.add(new LoadResult(name, allRequests, allErrors, elapsedNanos, total.getIntervalHistogram()));
+        if (operations > 1) {
+            for (int op = 0; op < operations; op++) {
+                results.add(new LoadResult("  " + mix.name(op), completed[op].sum(), errors[op].sum(),
+                        elapsedNanos, recorders[op].getIntervalHistogram()));
+            }
+        }
+        return results;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class LoadResult {
+        private final String name;
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final Histogram latency;
+
+        public double throughput() {
+            return requests * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        public String summary() {
+            return String.format("%-28s req=%8d err=%6d rps=%9.1f p50=%8.2fms p90=%8.2fms p99=%8.2fms p999=%8.2fms max=%8.2fms",
+                    name, requests, errors, throughput(),
+                    millis(50), millis(90), millis(99), millis(99.9), latency.getMaxValue() / 1_000_000.0);
+        }
+
+        private double millis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package hello.itemservice.load;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 요청 종류별 가중치 (예: list:20,detail:70,add:5,edit:5)
+ */
+public class LoadMix {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<HttpRequest>> requests = new ArrayList<>();
+    private int[] cumulative = new int[0];
+
+    public LoadMix add(String name, int weight, Supplier<HttpRequest> request) {
+        if (weight <= 0) {
+            return this;
+        }
+        int previous = cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+        cumulative = Arrays.copyOf(cumulative, cumulative.length + 1);
+        cumulative[cumulative.length - 1] = previous + weight;
+        names.add(name);
+        requests.add(request);
+        return this;
+    }
+
+    /**
+     * "list:20,detail:70" 형식을 읽어 이름별 요청 생성기와 묶는다. 없는 이름은 무시
+     */
+    public static LoadMix parse(String spec, Map<String, Supplier<HttpRequest>> available) {
+        LoadMix mix = new LoadMix();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            Supplier<HttpRequest> request = available.get(pair[0].trim());
+            if (request != null && pair.length == 2) {
+                mix.add(pair[0].trim(), Integer.parseInt(pair[1].trim()), request);
+            }
+        }
+        if (mix.size() == 0) {
+            throw new IllegalArgumentException("요청 종류가 없습니다: " + spec);
+        }
+        return mix;
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    String name(int op) {
+        return names.get(op);
+    }
+
+    int pick(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulative[cumulative.length - 1]);
+        int index = Arrays.binarySearch(cumulative, value + 1);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    HttpRequest request(int op) {
+        return requests.get(op).get();
+    }
+}
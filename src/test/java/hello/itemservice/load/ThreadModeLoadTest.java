@@ -0,0 +1,85 @@
+package hello.itemservice.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플랫폼 스레드 풀 vs 가상 스레드 요청 처리 비교 부하 테스트
+ * ./gradlew loadTest -Dload.concurrency=1000 -Dload.seconds=20
+ * 임베디드 H2 로 기동하므로 외부 서버는 필요 없다. 캐시를 끄고 매 요청이 DB 까지 가도록 한다.
+ */
+@Slf4j
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 500);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 15));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+
+    @Test
+    @DisplayName("플랫폼 스레드 vs 가상 스레드 처리량/지연시간 비교")
+    void compareThreadModes() throws Exception {
+        LoadDriver.LoadResult platform = runAgainst(false);
+        LoadDriver.LoadResult virtual = runAgainst(true);
+
+        log.info("concurrency={} duration={}", CONCURRENCY, DURATION);
+        log.info(platform.summary());
+        log.info(virtual.summary());
+
+        assertThat(platform.getRequests()).isPositive();
+        assertThat(virtual.getRequests()).isPositive();
+    }
+
+    private LoadDriver.LoadResult runAgainst(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0",
+                        "--spring.profiles.active=embedded",
+                        // 합성 시드 대신 아래 seed() 의 상품만 사용
+                        "--custom.seed.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--custom.item.cache.enabled=false",
+                        // 두 스레드 모드를 같은 조건으로 비교하도록 입장 제어(503 즉시 거절)는 끔
+                        "--custom.admission.enabled=false")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Long> ids = seed(context.getBean(ItemService.class));
+
+            LoadDriver driver = new LoadDriver(CONCURRENCY, DURATION);
+            new LoadDriver(CONCURRENCY, WARMUP).run("warmup", () -> detailRequest(baseUrl, ids));
+            return driver.run(virtualThreads ? "virtual threads" : "platform threads",
+                    () -> detailRequest(baseUrl, ids));
+        }
+    }
+
+    private static List<Long> seed(ItemService itemService) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("load-" + i, 1000 + i, 100));
+        }
+        return itemService.saveItems(items).stream().map(Item::getId).toList();
+    }
+
+    private static HttpRequest detailRequest(String baseUrl, List<Long> ids) {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/basic/items/" + id))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+}
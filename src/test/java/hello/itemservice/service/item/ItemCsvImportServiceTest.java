@@ -0,0 +1,65 @@
+package hello.itemservice.service.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import hello.itemservice.domain.item.Item;
+
+class ItemCsvImportServiceTest {
+
+    private final ItemService itemService = mock(ItemService.class);
+    private final List<Item> saved = new ArrayList<>();
+    private final ItemCsvImportService importService = new ItemCsvImportService(itemService, 500);
+
+    @BeforeEach
+    void setUp() {
+        when(itemService.saveItems(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            saved.addAll(items);
+            return items;
+        });
+    }
+
+    @Test
+    @DisplayName("첫 줄이 \"item 으로 시작하는 따옴표 데이터 행이어도 헤더로 건너뛰지 않는다")
+    void quotedFirstRowIsData() throws Exception {
+        ItemImportResult result = importCsv("\"item A\",1000,5\n\"item, B\",2000,6\n");
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(saved).extracting(Item::getItemName, Item::getPrice, Item::getQuantity)
+                .containsExactly(tuple("item A", 1000, 5), tuple("item, B", 2000, 6));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "item_name,price,quantity",
+            "\uFEFFItem_Name, Price, QUANTITY",
+            "\"item_name\",\"price\",\"quantity\"",
+            "itemName,price,quantity",
+            "id,item_name,price,quantity"})
+    @DisplayName("헤더는 컬럼 이름이 정확히 맞을 때만 건너뛴다")
+    void skipsExactHeader(String header) throws Exception {
+        ItemImportResult result = importCsv(header + "\nitemA,1000,5\n");
+
+        assertThat(result.getTotalRows()).isEqualTo(1);
+        assertThat(saved).extracting(Item::getItemName).containsExactly("itemA");
+    }
+
+    private ItemImportResult importCsv(String csv) throws Exception {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,121 @@
+package hello.itemservice.service.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+
+/**
+ * 커서 인코딩과 findItemPage 의 페이지 크기 보정 / 다음 커서 판단 (저장소는 목)
+ */
+class ItemCursorTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private ItemService itemService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<ItemChangeListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenReturn(Stream.empty());
+        itemService = new ItemService(itemRepository, 20, 100, 3, 1000, false, 0,
+                mock(ObjectProvider.class), mock(ObjectProvider.class), listeners);
+        when(itemRepository.findPage(any(), anyInt()))
+                .thenAnswer(invocation -> rows(invocation.getArgument(0), invocation.getArgument(1), 250));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 123_456_789, Long.MAX_VALUE})
+    @DisplayName("인코딩한 커서는 같은 id 로 복원된다")
+    void roundTrip(long id) {
+        String cursor = ItemCursor.encode(id);
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(ItemCursor.decode(cursor)).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("null/빈 커서는 첫 페이지")
+    void emptyCursorIsFirstPage() {
+        assertThat(ItemCursor.decode(null)).isNull();
+        assertThat(ItemCursor.decode(" ")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"!!!", "AAAA", "AAAAAAAAAAAAAAAAAAAA"})
+    @DisplayName("base64 가 아니거나 길이가 다른 커서는 IllegalArgumentException")
+    void malformedCursor(String cursor) {
+        assertThatThrownBy(() -> ItemCursor.decode(cursor)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemService.findItemPage(cursor, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {"null, 20", "0, 20", "-5, 20", "1, 1", "100, 100", "101, 100", "5000, 100"})
+    @DisplayName("페이지 크기는 [1, max-size] 로 보정, 비었거나 1 미만이면 default-size")
+    void clampsPageSize(Integer requested, int expected) {
+        ItemPage page = itemService.findItemPage(null, requested);
+
+        assertThat(page.getSize()).isEqualTo(expected);
+        assertThat(page.getItems()).hasSize(expected);
+        // 다음 페이지 존재 여부를 보려고 한 건 더 읽는다
+        verify(itemRepository).findPage(isNull(), eq(expected + 1));
+    }
+
+    @Test
+    @DisplayName("커서를 따라가면 빠짐없이 이어지고 마지막 페이지의 nextCursor 는 null")
+    void followsCursorToLastPage() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ItemPage page = itemService.findItemPage(cursor, 100);
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(250).doesNotHaveDuplicates().isSorted();
+        assertThat(ids.get(249)).isEqualTo(250L);
+    }
+
+    @Test
+    @DisplayName("남은 행이 페이지 크기와 정확히 같으면 그 페이지가 마지막")
+    void exactFitIsLastPage() {
+        ItemPage page = itemService.findItemPage(ItemCursor.encode(150), 100);
+
+        assertThat(page.getItems()).hasSize(100);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // id 1..total 중 afterId 다음부터 limit 개
+    private static List<Item> rows(Long afterId, int limit, long total) {
+        List<Item> rows = new ArrayList<>();
+        for (long id = (afterId == null ? 0 : afterId) + 1; id <= total && rows.size() < limit; id++) {
+            Item item = new Item("item-" + id, 1000, 1);
+            item.setId(id);
+            rows.add(item);
+        }
+        return rows;
+    }
+}
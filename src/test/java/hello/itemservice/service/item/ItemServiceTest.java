@@ -1,6 +1,10 @@
 package hello.itemservice.service.item;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.assertj.core.api.Assertions;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -8,6 +12,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 import hello.itemservice.domain.item.Item;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +27,9 @@ class ItemServiceTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private RecordingListener recordingListener;
+
 
     // @Test
     // @DisplayName("AOP 프록시 확인 테스트")
@@ -94,6 +105,30 @@ class ItemServiceTest {
         items.forEach(item -> log.info("Item: {}", item));
     }
 
+    @Test
+    @DisplayName("여러 아이템 조회 - IN 쿼리가 나뉘어도 요청 순서를 따르고 없는 id 는 따로 알려준다")
+    void findItemsByIdsTest() {
+        // Given - MAX_IN_LIST(256) 를 넘겨 두 번에 나눠 조회되도록
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(new Item("묶음조회" + i, 1000, i));
+        }
+        List<Long> saved = itemService.saveItems(items).stream().map(Item::getId).toList();
+        long missing = -1L;
+
+        // When - 역순, 중간에 없는 id 와 중복 id
+        List<Long> reversed = new ArrayList<>(saved);
+        Collections.reverse(reversed);
+        List<Long> requested = new ArrayList<>(reversed);
+        requested.add(150, missing);
+        requested.add(saved.get(0));
+        ItemLookupResult result = itemService.findItemsByIds(requested);
+
+        // Then
+        assertThat(result.getItems()).extracting(Item::getId).containsExactlyElementsOf(reversed);
+        assertThat(result.getMissingIds()).containsExactly(missing);
+    }
+
     @Test
     @DisplayName("아이템 수정 테스트")
     void updateItemTest() {
@@ -115,6 +150,31 @@ class ItemServiceTest {
         log.info("Updated Item: {}", updatedItem);
     }
 
+    @Test
+    @DisplayName("앞선 리스너가 실패해도 수정은 성공하고 다음 리스너까지 통지된다")
+    void failingListenerIsIsolated() {
+        // Given
+        Item savedItem = itemService.saveItem(new Item("통지 테스트 상품", 10000, 5));
+        Long itemId = savedItem.getId();
+
+        // When - failingListener 가 먼저 호출되어 예외를 던짐
+        itemService.updateItem(itemId, new Item("통지 테스트 상품", 12000, 5));
+
+        // Then
+        assertThat(itemService.findItem(itemId).getPrice()).isEqualTo(12000);
+        assertThat(recordingListener.updatedIds).contains(itemId);
+    }
+
+    @Test
+    @DisplayName("없는 아이템 수정은 NoSuchElementException 이고 통지하지 않는다")
+    void updateMissingItemTest() {
+        Long missingId = Long.MAX_VALUE;
+
+        Assertions.assertThatThrownBy(() -> itemService.updateItem(missingId, new Item("없는 상품", 1000, 1)))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(recordingListener.updatedIds).doesNotContain(missingId);
+    }
+
     @Test
     @DisplayName("트랜잭션 롤백 테스트")
     void transactionRollbackTest() {
@@ -161,4 +221,43 @@ class ItemServiceTest {
             log.warn("Method not found: {}", e.getMessage());
         }
     }
+
+    @TestConfiguration
+    static class ListenerTestConfig {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        ItemChangeListener failingListener() {
+            return new ItemChangeListener() {
+                @Override
+                public void onSaved(Item item) {
+                    throw new IllegalStateException("테스트용 리스너 실패");
+                }
+
+                @Override
+                public void onUpdated(Item updated) {
+                    throw new IllegalStateException("테스트용 리스너 실패");
+                }
+            };
+        }
+
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE)
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements ItemChangeListener {
+        final List<Long> updatedIds = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSaved(Item item) {
+        }
+
+        @Override
+        public void onUpdated(Item updated) {
+            updatedIds.add(updated.getId());
+        }
+    }
 }
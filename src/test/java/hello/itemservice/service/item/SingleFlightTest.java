@@ -0,0 +1,117 @@
+package hello.itemservice.service.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import hello.itemservice.domain.item.Item;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 50;
+
+    @Test
+    @DisplayName("같은 키 동시 호출은 loader 한 번, 호출마다 별도 복사본")
+    void collapsesConcurrentCalls() throws Exception {
+        SingleFlight<Long, Item> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), Item::copy);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Item>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    Item item = new Item("hot", 1000, 10);
+                    item.setId(1L);
+                    return item;
+                })));
+            }
+            waitUntil(() -> singleFlight.stats().getCollapsed() == CALLERS - 1);
+            release.countDown();
+
+            List<Item> items = new ArrayList<>();
+            for (Future<Item> result : results) {
+                items.add(result.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(items).allSatisfy(item -> assertThat(item.getItemName()).isEqualTo("hot"));
+            assertThat(items.stream().distinct().count()).isEqualTo(1);
+            assertThat(items.stream().map(System::identityHashCode).distinct().count()).isEqualTo(CALLERS);
+        }
+        assertThat(singleFlight.stats().getExecutions()).isEqualTo(1);
+        assertThat(singleFlight.stats().getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("loader 예외는 기다리던 호출에도 그대로 전달")
+    void sharesFailure() throws Exception {
+        SingleFlight<Long, Item> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), Item::copy);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Item> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw new IllegalStateException("db down");
+            }));
+            waitUntil(() -> singleFlight.stats().getInFlight() == 1);
+            Future<Item> waiter = executor.submit(() -> singleFlight.execute(1L, () -> null));
+            waitUntil(() -> singleFlight.stats().getCollapsed() == 1);
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(waiter::get).hasRootCauseMessage("db down");
+        }
+        assertThat(singleFlight.stats().getSharedFailures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("진행 중인 조회를 maxWait 안에 받지 못하면 QueryTimeoutException")
+    void boundsWait() throws Exception {
+        SingleFlight<Long, Item> singleFlight = new SingleFlight<>(Duration.ofMillis(50), Item::copy);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                return null;
+            }));
+            waitUntil(() -> singleFlight.stats().getInFlight() == 1);
+
+            assertThatThrownBy(() -> singleFlight.execute(1L, () -> null))
+                    .isInstanceOf(QueryTimeoutException.class);
+            release.countDown();
+        }
+        assertThat(singleFlight.stats().getWaitTimeouts()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
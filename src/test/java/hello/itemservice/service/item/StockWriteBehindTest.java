@@ -0,0 +1,193 @@
+package hello.itemservice.service.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.JdbcTemplateItemRepository;
+
+/**
+ * 재고 write-behind (임베디드 H2, 스프링 컨텍스트 없이)
+ * 주기 반영은 사실상 끄고(1시간) flush 를 직접 호출해서 반영 시점을 고정한다.
+ */
+class StockWriteBehindTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplateItemRepository repository;
+    private StockWriteBehind writeBehind;
+    // true 로 두면 다음 배치 반영 한 번이 실패한다
+    private final AtomicBoolean failNextFlush = new AtomicBoolean();
+    // {읽음 알림, 재개} - 두면 다음 findById 가 읽은 뒤 재개될 때까지 멈춘다
+    private volatile CountDownLatch[] pauseAfterRead;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:write-behind;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(8);
+        dataSource = new HikariDataSource(config);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        repository = new JdbcTemplateItemRepository(dataSource, 500, 1000) {
+            @Override
+            public List<Long> applyQuantityDeltas(Map<Long, Integer> deltas) {
+                if (failNextFlush.getAndSet(false)) {
+                    throw new TransientDataAccessResourceException("테스트용 반영 실패");
+                }
+                return super.applyQuantityDeltas(deltas);
+            }
+
+            @Override
+            public Optional<Item> findById(Long id) {
+                Optional<Item> found = super.findById(id);
+                CountDownLatch[] pause = pauseAfterRead;
+                if (pause != null) {
+                    pause[0].countDown();
+                    try {
+                        pause[1].await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return found;
+            }
+        };
+        repository.clearStore();
+        writeBehind = new StockWriteBehind(repository, 3_600_000, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("같은 상품의 증감은 메모리에서 합쳐 UPDATE 한 번으로 반영")
+    void coalescesAdjustments() {
+        Long itemId = repository.save(new Item("hot", 1000, 100)).getId();
+
+        for (int i = 0; i < 50; i++) {
+            writeBehind.adjust(itemId, -1);
+        }
+        assertThat(writeBehind.pendingQuantity(itemId)).isEqualTo(50);
+        assertThat(quantityInDb(itemId)).isEqualTo(100);
+
+        writeBehind.flush();
+
+        assertThat(quantityInDb(itemId)).isEqualTo(50);
+        assertThat(writeBehind.stats().getAdjustments()).isEqualTo(50);
+        assertThat(writeBehind.stats().getFlushedUpdates()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("반영이 실패하면 증감을 되돌려 두었다가 다음 반영에 합쳐서 재시도")
+    void requeuesAfterFlushFailure() {
+        Long itemId = repository.save(new Item("hot", 1000, 100)).getId();
+        writeBehind.adjust(itemId, -3);
+
+        failNextFlush.set(true);
+        assertThatThrownBy(writeBehind::flush).isInstanceOf(TransientDataAccessResourceException.class);
+        assertThat(quantityInDb(itemId)).isEqualTo(100);
+        assertThat(writeBehind.pendingQuantity(itemId)).isEqualTo(97);
+
+        writeBehind.adjust(itemId, -2);
+        writeBehind.flush();
+
+        assertThat(quantityInDb(itemId)).isEqualTo(95);
+        assertThat(writeBehind.stats().getFlushFailures()).isEqualTo(1);
+        assertThat(writeBehind.stats().getFlushedUpdates()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 경로로 DB 수량이 줄어 음수가 되는 증감은 거절하고 통계로 드러낸 뒤 DB 값을 다시 읽음")
+    void rejectedDeltaIsCountedAndCellReloaded() {
+        Long itemId = repository.save(new Item("hot", 1000, 5)).getId();
+        writeBehind.adjust(itemId, -4);
+        // write-behind 를 거치지 않은 수정
+        repository.update(itemId, new Item("hot", 1000, 0));
+
+        writeBehind.flush();
+
+        assertThat(quantityInDb(itemId)).isZero();
+        assertThat(writeBehind.stats().getRejectedDeltas()).isEqualTo(1);
+        assertThat(writeBehind.stats().getRejectedUnits()).isEqualTo(4);
+        assertThat(writeBehind.pendingQuantity(itemId)).isNull();
+        assertThatThrownBy(() -> writeBehind.adjust(itemId, -1)).isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @DisplayName("수정 중에 들어온 증감은 수정이 끝날 때까지 기다렸다가 수정된 수량에 더해진다")
+    void adjustWaitsForOverwrite() throws Exception {
+        Long itemId = repository.save(new Item("hot", 1000, 100)).getId();
+        writeBehind.adjust(itemId, 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<Future<Long>> racing = new ArrayList<>();
+            writeBehind.overwrite(itemId, () -> {
+                racing.add(executor.submit(() -> writeBehind.adjust(itemId, 1)));
+                assertThatThrownBy(() -> racing.get(0).get(100, TimeUnit.MILLISECONDS))
+                        .isInstanceOf(TimeoutException.class);
+                repository.update(itemId, new Item("hot", 1000, 10_000));
+            });
+
+            assertThat(racing.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(10_001);
+            writeBehind.flush();
+            assertThat(quantityInDb(itemId)).isEqualTo(10_001);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("수정 전에 DB 에서 읽은 수량으로 수정 후에 셀을 만들지 않는다")
+    void staleReadBeforeOverwriteIsDiscarded() throws Exception {
+        Long itemId = repository.save(new Item("hot", 1000, 100)).getId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // adjust 가 셀을 만들려고 DB 에서 수량(100)을 읽은 직후 멈춰 있는 동안 수정이 끝남
+            CountDownLatch read = new CountDownLatch(1);
+            CountDownLatch resume = new CountDownLatch(1);
+            pauseAfterRead = new CountDownLatch[] {read, resume};
+            Future<Long> racing = executor.submit(() -> writeBehind.adjust(itemId, 1));
+            assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+            pauseAfterRead = null;
+
+            writeBehind.overwrite(itemId, () -> repository.update(itemId, new Item("hot", 1000, 10_000)));
+            resume.countDown();
+
+            assertThat(racing.get(5, TimeUnit.SECONDS)).isEqualTo(10_001);
+            writeBehind.flush();
+            assertThat(quantityInDb(itemId)).isEqualTo(10_001);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int quantityInDb(Long itemId) {
+        return repository.findById(itemId).orElseThrow().getQuantity();
+    }
+}
@@ -0,0 +1,131 @@
+package hello.itemservice.service.item.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+
+class CatalogAnalyticsTest {
+
+    private CatalogAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new CatalogAnalytics(mock(ItemRepository.class), 60_000, 2, 1000);
+        analytics.build();
+        analytics.onSavedAll(List.of(
+                item(1L, "Apple", 1000, 10),
+                item(2L, "Banana", 5000, 0),
+                item(3L, "Cherry", null, 3),
+                item(4L, "Durian", 20000, 2)));
+        analytics.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        analytics.shutdown();
+    }
+
+    @Test
+    @DisplayName("전체 집계 - 가격/수량 없는 상품은 재고 가치에서 제외")
+    void summary() {
+        CatalogSummary summary = analytics.summary();
+        assertThat(summary.getItems()).isEqualTo(4);
+        assertThat(summary.getPricedItems()).isEqualTo(3);
+        assertThat(summary.getSoldOutItems()).isEqualTo(1);
+        assertThat(summary.getTotalQuantity()).isEqualTo(15);
+        assertThat(summary.getInventoryValue()).isEqualTo(1000 * 10 + 20000 * 2);
+        assertThat(summary.getMinPrice()).isEqualTo(1000);
+        assertThat(summary.getMaxPrice()).isEqualTo(20000);
+    }
+
+    @Test
+    @DisplayName("변경은 refresh 후 새 스냅샷에 반영 (수량만 바뀐 경우 포함)")
+    void incrementalRefresh() {
+        analytics.onUpdated(item(2L, "Banana", 6000, 7));
+        analytics.onQuantityAdjusted(4L, 0, 1);
+        assertThat(analytics.summary().getSoldOutItems()).isEqualTo(1);
+
+        analytics.refresh();
+        CatalogSummary summary = analytics.summary();
+        assertThat(summary.getInventoryValue()).isEqualTo(1000 * 10 + 6000 * 7);
+        assertThat(summary.getSoldOutItems()).isEqualTo(1);
+        assertThat(analytics.lowStock(0, 10).getItems())
+                .extracting(LowStockReport.Entry::getItemName).containsExactly("Durian");
+    }
+
+    @Test
+    @DisplayName("재고 통지가 version 역순으로 도착해도 최신 수량이 남는다 (한 주기 안 / 주기를 넘어)")
+    void reverseOrderAdjustments() {
+        // version 2 (수량 5) 가 먼저 반영되고 version 1 (수량 8) 이 늦게 도착
+        analytics.onQuantityAdjusted(4L, 5, 2);
+        analytics.onQuantityAdjusted(4L, 8, 1);
+        analytics.refresh();
+        assertThat(quantityOf(4L)).isEqualTo(5);
+
+        analytics.onQuantityAdjusted(1L, 0, 4);
+        analytics.refresh();
+        analytics.onQuantityAdjusted(1L, 9, 3);
+        analytics.refresh();
+        assertThat(quantityOf(1L)).isZero();
+
+        // 수량만 더 최신이어도 늦게 온 전체 수정의 이름/가격은 반영
+        Item renamed = item(4L, "Dragonfruit", 30000, 8);
+        renamed.setVersion(1L);
+        analytics.onUpdated(renamed);
+        analytics.refresh();
+        assertThat(analytics.lowStock(5, 10).getItems())
+                .filteredOn(entry -> entry.getId() == 4L)
+                .extracting(LowStockReport.Entry::getItemName, LowStockReport.Entry::getQuantity)
+                .containsExactly(tuple("Dragonfruit", 5));
+    }
+
+    @Test
+    @DisplayName("가격 구간 - 경계값은 다음 구간, 잘못된 경계는 거절")
+    void priceHistogram() {
+        PriceHistogram histogram = analytics.priceHistogram(new int[]{1000, 10000});
+        assertThat(histogram.getBuckets()).extracting(PriceHistogram.Bucket::getItems).containsExactly(0L, 2L, 1L);
+        assertThat(histogram.getUnpricedItems()).isEqualTo(1);
+
+        assertThatThrownBy(() -> analytics.priceHistogram(new int[]{5000, 1000}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("큰 카탈로그 병렬 스캔 - 수량 오름차순, id 순으로 limit 건")
+    void lowStockAcrossForkedRanges() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 10; id < 200_010; id++) {
+            items.add(item(id, "item-" + id, 100, (int) (id % 50)));
+        }
+        analytics.onSavedAll(items);
+        analytics.refresh();
+
+        LowStockReport report = analytics.lowStock(0, 3);
+        assertThat(report.getMatched()).isEqualTo(200_000 / 50 + 1);
+        assertThat(report.getItems()).extracting(LowStockReport.Entry::getId).containsExactly(2L, 50L, 100L);
+    }
+
+    private int quantityOf(long id) {
+        return analytics.lowStock(Integer.MAX_VALUE, 1000).getItems().stream()
+                .filter(entry -> entry.getId() == id)
+                .findFirst().orElseThrow().getQuantity();
+    }
+
+    private static Item item(Long id, String name, Integer price, Integer quantity) {
+        Item item = new Item(name, price, quantity);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.service.item.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.domain.item.Item;
+
+class ItemChangeFeedTest {
+
+    @Test
+    @DisplayName("마지막으로 받은 sequence 다음부터 이어 받고, 이후 발행도 받는다")
+    void resumeFromSequence() throws Exception {
+        ItemChangeFeed feed = new ItemChangeFeed(10, 10, 10);
+        for (long id = 1; id <= 5; id++) {
+            feed.onSaved(item(id));
+        }
+
+        try (ItemChangeSubscription subscription = feed.subscribe(3L)) {
+            feed.onQuantityAdjusted(1L, 7, 1);
+            assertThat(subscription.isReset()).isFalse();
+            assertThat(drain(subscription)).extracting(ItemChangeEvent::getSequence).containsExactly(4L, 5L, 6L);
+        }
+        assertThat(feed.subscribers()).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 구간 밖이거나 현재보다 큰 sequence 면 reset")
+    void resetWhenOutOfRange() {
+        ItemChangeFeed feed = new ItemChangeFeed(3, 10, 10);
+        for (long id = 1; id <= 5; id++) {
+            feed.onSaved(item(id));
+        }
+
+        assertThat(feed.subscribe(1L).isReset()).isTrue();
+        assertThat(feed.subscribe(2L).isReset()).isFalse();
+        assertThat(feed.subscribe(99L).isReset()).isTrue();
+    }
+
+    @Test
+    @DisplayName("대기열이 넘치면 overflowed - 넘치기 전까지의 이벤트만 남는다")
+    void overflowMarksSlowSubscriber() throws Exception {
+        ItemChangeFeed feed = new ItemChangeFeed(100, 2, 10);
+        ItemChangeSubscription subscription = feed.subscribe(null);
+        for (long id = 1; id <= 5; id++) {
+            feed.onSaved(item(id));
+        }
+
+        assertThat(subscription.isOverflowed()).isTrue();
+        assertThat(drain(subscription)).extracting(ItemChangeEvent::getSequence).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("이미 발행한 것보다 오래된 version 의 변경은 뒤늦게 도착해도 발행하지 않는다")
+    void staleVersionIsSkipped() throws Exception {
+        ItemChangeFeed feed = new ItemChangeFeed(10, 10, 10);
+        ItemChangeSubscription subscription = feed.subscribe(null);
+
+        feed.onQuantityAdjusted(1L, 3, 2);
+        feed.onQuantityAdjusted(1L, 5, 1);
+        feed.onQuantityAdjusted(1L, 2, 2);
+
+        assertThat(drain(subscription)).extracting(ItemChangeEvent::getQuantity).containsExactly(3, 2);
+    }
+
+    private static List<ItemChangeEvent> drain(ItemChangeSubscription subscription) throws InterruptedException {
+        List<ItemChangeEvent> events = new ArrayList<>();
+        ItemChangeEvent event;
+        while ((event = subscription.poll(0, TimeUnit.MILLISECONDS)) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static Item item(long id) {
+        Item item = new Item("item-" + id, 1000, 10);
+        item.setId(id);
+        return item;
+    }
+}
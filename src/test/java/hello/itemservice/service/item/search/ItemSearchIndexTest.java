@@ -0,0 +1,157 @@
+package hello.itemservice.service.item.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.service.item.search.ItemSearchCondition.NameMatch;
+import hello.itemservice.service.item.search.ItemSearchCondition.Sort;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(mock(ItemRepository.class), 100, 20);
+        index.build();
+        index.onSavedAll(List.of(
+                item(1L, "Apple Juice", 3000),
+                item(2L, "apple pie", 5000),
+                item(3L, "Pineapple", 8000),
+                item(4L, "Banana", 2000),
+                item(5L, "Grape", null)));
+    }
+
+    @Test
+    @DisplayName("이름 접두사 - 대소문자 무시, 이름순")
+    void prefix() {
+        assertThat(names(search("app", NameMatch.PREFIX, null, null, Sort.NAME)))
+                .containsExactly("Apple Juice", "apple pie");
+    }
+
+    @Test
+    @DisplayName("이름 부분일치 + 가격 범위, 가격 내림차순")
+    void containsWithPriceRange() {
+        assertThat(names(search("apple", NameMatch.CONTAINS, 4000, null, Sort.PRICE_DESC)))
+                .containsExactly("Pineapple", "apple pie");
+    }
+
+    @Test
+    @DisplayName("가격 범위에는 가격 없는 상품이 포함되지 않음")
+    void priceRangeExcludesMissingPrice() {
+        assertThat(names(search(null, NameMatch.PREFIX, null, 3000, Sort.PRICE_ASC)))
+                .containsExactly("Banana", "Apple Juice");
+    }
+
+    @Test
+    @DisplayName("수정하면 이전 이름으로는 찾을 수 없음, 페이지 넘김")
+    void updateAndPaging() {
+        index.onUpdated(item(4L, "Blueberry", 2000));
+        assertThat(search("bana", NameMatch.PREFIX, null, null, Sort.NAME).getItems()).isEmpty();
+
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setSort(Sort.ID);
+        condition.setSize(2);
+        condition.setPage(1);
+        ItemSearchResult page = index.search(condition);
+        assertThat(page.getItems()).extracting(Item::getId).containsExactly(3L, 4L);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 version 의 수정/재고 통지는 더 최신 값을 덮어쓰지 않는다")
+    void staleNotificationsAreIgnored() {
+        Item renamed = item(4L, "Blueberry", 2000);
+        renamed.setVersion(3L);
+        index.onUpdated(renamed);
+        index.onQuantityAdjusted(4L, 1, 4);
+
+        Item older = item(4L, "Banana", 2000);
+        older.setVersion(2L);
+        index.onUpdated(older);
+        index.onQuantityAdjusted(4L, 7, 3);
+
+        assertThat(search("bana", NameMatch.PREFIX, null, null, Sort.NAME).getItems()).isEmpty();
+        assertThat(search("blue", NameMatch.PREFIX, null, null, Sort.NAME).getItems())
+                .extracting(Item::getQuantity).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("구성 중 아직 읽지 않은 상품에 온 수정/재고 통지는 나중에 읽은 오래된 행에 덮이지 않는다")
+    void changesDuringBuildSurviveStaleRows() {
+        ItemRepository repository = mock(ItemRepository.class);
+        ItemSearchIndex building = new ItemSearchIndex(repository, 100, 20);
+        doAnswer(invocation -> {
+            Consumer<Item> consumer = invocation.getArgument(0);
+            consumer.accept(versioned(item(1L, "Apple", 1000), 1));
+            // 2, 3 번 행을 읽기 전에 반영된 변경
+            building.onUpdated(versioned(item(2L, "Cherry", 3000), 2));
+            building.onQuantityAdjusted(3L, 0, 5);
+            building.onQuantityAdjusted(3L, 9, 4);
+            consumer.accept(versioned(item(2L, "Banana", 2000), 1));
+            consumer.accept(versioned(item(3L, "Durian", 4000), 4));
+            return null;
+        }).when(repository).streamAll(any());
+
+        building.build();
+
+        assertThat(building.size()).isEqualTo(3);
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setSort(Sort.ID);
+        assertThat(building.search(condition).getItems())
+                .extracting(Item::getItemName, Item::getQuantity)
+                .containsExactly(tuple("Apple", 10), tuple("Cherry", 10), tuple("Durian", 0));
+    }
+
+    @Test
+    @DisplayName("결과 끝 위치가 max-offset 을 넘는 페이지는 거절 (page * size 가 int 범위를 넘어도)")
+    void rejectsDeepPages() {
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setSize(5);
+        condition.setPage(3);
+        assertThat(index.search(condition).getItems()).isEmpty();
+
+        condition.setPage(4);
+        assertThatThrownBy(() -> index.search(condition)).isInstanceOf(IllegalArgumentException.class);
+        condition.setPage(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> index.search(condition)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ItemSearchResult search(String name, NameMatch match, Integer minPrice, Integer maxPrice, Sort sort) {
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setName(name);
+        condition.setMatch(match);
+        condition.setMinPrice(minPrice);
+        condition.setMaxPrice(maxPrice);
+        condition.setSort(sort);
+        return index.search(condition);
+    }
+
+    private static List<String> names(ItemSearchResult result) {
+        return result.getItems().stream().map(Item::getItemName).toList();
+    }
+
+    private static Item versioned(Item item, long version) {
+        item.setVersion(version);
+        return item;
+    }
+
+    private static Item item(Long id, String name, Integer price) {
+        Item item = new Item(name, price, 10);
+        item.setId(id);
+        return item;
+    }
+}
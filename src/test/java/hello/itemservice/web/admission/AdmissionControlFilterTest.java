@@ -0,0 +1,135 @@
+package hello.itemservice.web.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import hello.itemservice.connection.metrics.PoolMetricsRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * 입장 제어 - 풀 대기 초과 / 대기열 초과 / 대기 시간 초과 거절과 자리 반환 확인
+ */
+class AdmissionControlFilterTest {
+
+    private final PoolMetricsRegistry poolMetrics = mock(PoolMetricsRegistry.class);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("커넥션 풀 대기 스레드가 한도를 넘으면 체인을 타지 않고 503 + Retry-After")
+    void rejectsWhenPoolPendingExceedsLimit() throws Exception {
+        when(poolMetrics.maxPendingThreads()).thenReturn(11);
+        AdmissionControlFilter filter = new AdmissionControlFilter(poolMetrics, 4, 4, 100, 10, 3);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform(filter, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(filter.stats().getRejectedPoolPending()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("자리가 모두 차 있고 대기열도 가득이면 기다리지 않고 바로 거절")
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(poolMetrics, 1, 1, 10_000, 10, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        Future<MockHttpServletResponse> holder = executor.submit(() -> perform(filter, blockingChain(entered)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<MockHttpServletResponse> waiter = executor.submit(() -> perform(filter, new MockFilterChain()));
+        awaitQueued(filter, 1);
+
+        long startNanos = System.nanoTime();
+        MockHttpServletResponse rejected = perform(filter, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(1_000);
+        assertThat(filter.stats().getRejectedQueueFull()).isEqualTo(1);
+
+        // 자리가 나면 기다리던 요청은 들어간다
+        release.countDown();
+        assertThat(holder.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(waiter.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(filter.stats().getAdmitted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("queue-timeout-ms 안에 자리를 얻지 못하면 거절")
+    void rejectsWhenQueueTimeoutExpires() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(poolMetrics, 1, 4, 50, 10, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        executor.submit(() -> perform(filter, blockingChain(entered)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform(filter, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(filter.stats().getRejectedQueueTimeout()).isEqualTo(1);
+        assertThat(filter.stats().getQueued()).isZero();
+    }
+
+    @Test
+    @DisplayName("체인이 예외를 던져도 자리는 반환된다")
+    void releasesPermitWhenChainThrows() {
+        AdmissionControlFilter filter = new AdmissionControlFilter(poolMetrics, 1, 0, 50, 10, 1);
+        FilterChain failing = (request, response) -> {
+            throw new ServletException("handler");
+        };
+
+        assertThatThrownBy(() -> perform(filter, failing)).isInstanceOf(ServletException.class);
+
+        assertThat(filter.stats().getAvailablePermits()).isEqualTo(1);
+    }
+
+    private FilterChain blockingChain(CountDownLatch entered) {
+        return (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static void awaitQueued(AdmissionControlFilter filter, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filter.stats().getQueued() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(filter.stats().getQueued()).isEqualTo(queued);
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/basic/items"), response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,145 @@
+package hello.itemservice.web.item.basic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.service.item.ItemCursor;
+import hello.itemservice.service.item.ItemPage;
+import hello.itemservice.service.item.ItemService;
+
+/**
+ * 조건부 GET - 서비스는 목으로 두고 돌려주는 행(버전)을 바꿔 가며 ETag / 304 판단 확인
+ */
+class BasicItemControllerTest {
+
+    private final ItemService itemService = mock(ItemService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new BasicItemController(itemService)).build();
+    }
+
+    @Test
+    @DisplayName("같은 ETag 로 재검증하면 304, Last-Modified 는 보내지 않는다")
+    void matchingEtagIsNotModified() throws Exception {
+        when(itemService.findItem(1L)).thenReturn(item(1L, 3, 10));
+
+        String etag = mockMvc.perform(get("/basic/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/basic/items/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @DisplayName("뒤처진 복제본이 이전 버전을 돌려주면 그 버전의 ETag 가 붙고, 따라잡은 뒤에는 다시 200")
+    void laggingReadIsTaggedWithItsOwnVersion() throws Exception {
+        // 방금 수정해서 primary 에서 읽은 버전 4
+        when(itemService.findItem(1L)).thenReturn(item(1L, 4, 9));
+        String latest = etagOf("/basic/items/1");
+
+        // 복제본이 아직 버전 3 - 최신 ETag 로 재검증해도 304 가 아니라 버전 3 본문과 그 ETag
+        when(itemService.findItem(1L)).thenReturn(item(1L, 3, 10));
+        String lagging = mockMvc.perform(get("/basic/items/1").header(HttpHeaders.IF_NONE_MATCH, latest))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("item", item(1L, 3, 10)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(lagging).isNotEqualTo(latest);
+
+        // 복제본이 따라잡으면 버전 3 을 가진 클라이언트는 304 가 아니라 최신 본문을 받는다
+        when(itemService.findItem(1L)).thenReturn(item(1L, 4, 9));
+        mockMvc.perform(get("/basic/items/1").header(HttpHeaders.IF_NONE_MATCH, lagging))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, latest));
+    }
+
+    @Test
+    @DisplayName("version 이 같아도 write-behind 로 수량만 바뀌었으면 200")
+    void pendingStockChangesEtag() throws Exception {
+        when(itemService.findItem(1L)).thenReturn(item(1L, 3, 10));
+        String etag = etagOf("/basic/items/1");
+
+        when(itemService.findItem(1L)).thenReturn(item(1L, 3, 7));
+        mockMvc.perform(get("/basic/items/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since 만으로는 304 를 주지 않는다")
+    void ifModifiedSinceAloneIsIgnored() throws Exception {
+        when(itemService.findItem(1L)).thenReturn(item(1L, 3, 10));
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Instant.now().plusSeconds(3600).atOffset(ZoneOffset.UTC));
+
+        mockMvc.perform(get("/basic/items/1").header(HttpHeaders.IF_MODIFIED_SINCE, future))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("목록은 페이지에 담긴 행으로 재검증하고 그중 하나라도 바뀌면 다시 200")
+    void pageEtag() throws Exception {
+        when(itemService.findItemPage(any(), any()))
+                .thenReturn(new ItemPage(List.of(item(1L, 1, 5), item(2L, 1, 5)), 20, null));
+        String etag = etagOf("/basic/items");
+
+        mockMvc.perform(get("/basic/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        when(itemService.findItemPage(any(), any()))
+                .thenReturn(new ItemPage(List.of(item(1L, 1, 5), item(2L, 2, 4)), 20, null));
+        mockMvc.perform(get("/basic/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 400, 올바른 커서는 200")
+    void malformedCursorIsBadRequest() throws Exception {
+        when(itemService.findItemPage(any(), any())).thenAnswer(invocation -> {
+            ItemCursor.decode(invocation.getArgument(0));
+            return new ItemPage(List.of(item(2L, 1, 5)), 20, null);
+        });
+
+        mockMvc.perform(get("/basic/items").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/basic/items").param("cursor", ItemCursor.encode(1L)))
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static Item item(Long id, long version, int quantity) {
+        Item item = new Item("item-" + id, 1000, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}